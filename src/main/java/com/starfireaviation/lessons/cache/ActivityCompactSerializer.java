@@ -0,0 +1,92 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.starfireaviation.common.model.Activity;
+import com.starfireaviation.common.model.ActivityType;
+
+/**
+ * Compact serializer for cached activities.
+ */
+public class ActivityCompactSerializer implements CompactSerializer<Activity> {
+
+    /**
+     * Reads an activity.
+     *
+     * @param reader CompactReader
+     * @return Activity
+     */
+    @Override
+    public Activity read(final CompactReader reader) {
+        final Activity activity = new Activity();
+        activity.setId(reader.readNullableInt64("id"));
+        activity.setTitle(reader.readString("title"));
+        activity.setDuration(reader.readInt64("duration"));
+        final String activityType = reader.readString("activityType");
+        if (activityType != null) {
+            activity.setActivityType(ActivityType.valueOf(activityType));
+        }
+        activity.setReferenceId(reader.readNullableInt64("referenceId"));
+        activity.setCreatedAt(CompactSupport.toDate(reader.readNullableInt64("createdAt")));
+        activity.setUpdatedAt(CompactSupport.toDate(reader.readNullableInt64("updatedAt")));
+        return activity;
+    }
+
+    /**
+     * Writes an activity.
+     *
+     * @param writer CompactWriter
+     * @param activity Activity
+     */
+    @Override
+    public void write(final CompactWriter writer, final Activity activity) {
+        writer.writeNullableInt64("id", activity.getId());
+        writer.writeString("title", activity.getTitle());
+        writer.writeInt64("duration", activity.getDuration());
+        if (activity.getActivityType() == null) {
+            writer.writeString("activityType", null);
+        } else {
+            writer.writeString("activityType", activity.getActivityType().name());
+        }
+        writer.writeNullableInt64("referenceId", activity.getReferenceId());
+        writer.writeNullableInt64("createdAt", CompactSupport.toMillis(activity.getCreatedAt()));
+        writer.writeNullableInt64("updatedAt", CompactSupport.toMillis(activity.getUpdatedAt()));
+    }
+
+    /**
+     * Schema type name.
+     *
+     * @return type name
+     */
+    @Override
+    public String getTypeName() {
+        return "activity";
+    }
+
+    /**
+     * Serialized class.
+     *
+     * @return Activity class
+     */
+    @Override
+    public Class<Activity> getCompactClass() {
+        return Activity.class;
+    }
+}
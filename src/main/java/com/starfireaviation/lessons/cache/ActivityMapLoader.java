@@ -0,0 +1,97 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.map.MapLoader;
+import com.starfireaviation.common.model.Activity;
+import com.starfireaviation.lessons.config.ReplicaRoutingDataSource;
+import com.starfireaviation.lessons.mapper.ActivityMapper;
+import com.starfireaviation.lessons.model.ActivityRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through loader for the activities map. Loads read from the primary, so rows the replica hasn't caught up with
+ * aren't cached.
+ */
+public class ActivityMapLoader implements MapLoader<Long, Activity> {
+
+    /**
+     * ActivityRepository.
+     */
+    private final ActivityRepository activityRepository;
+
+    /**
+     * Load timer.
+     */
+    private final Timer loadTimer;
+
+    /**
+     * ActivityMapLoader.
+     *
+     * @param aRepository ActivityRepository
+     * @param meterRegistry MeterRegistry
+     */
+    public ActivityMapLoader(final ActivityRepository aRepository, final MeterRegistry meterRegistry) {
+        activityRepository = aRepository;
+        loadTimer = CacheMonitor.loadTimer(meterRegistry, "activities");
+    }
+
+    /**
+     * Loads an activity.
+     *
+     * @param activityId Activity ID
+     * @return Activity or null when not found
+     */
+    @Override
+    public Activity load(final Long activityId) {
+        return loadTimer.record(() -> ReplicaRoutingDataSource.onPrimary(() -> activityRepository
+                .findById(activityId)
+                .map(ActivityMapper::map)
+                .orElse(null)));
+    }
+
+    /**
+     * Loads the given activities.
+     *
+     * @param activityIds Activity IDs
+     * @return Activities found, keyed by ID
+     */
+    @Override
+    public Map<Long, Activity> loadAll(final Collection<Long> activityIds) {
+        return loadTimer.record(() -> ReplicaRoutingDataSource.onPrimary(() -> activityRepository
+                .findAllById(activityIds)
+                .stream()
+                .map(ActivityMapper::map)
+                .collect(Collectors.toMap(Activity::getId, Function.identity()))));
+    }
+
+    /**
+     * Activities are loaded on demand rather than eagerly when the map is created.
+     *
+     * @return null
+     */
+    @Override
+    public Iterable<Long> loadAllKeys() {
+        return null;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Exposes per map cache statistics, both as Micrometer meters and on demand.
+ */
+public class CacheMonitor {
+
+    /**
+     * MapLoader load timer name.
+     */
+    public static final String LOAD_TIMER = "cache.load";
+
+    /**
+     * Monitored caches.
+     */
+    private final List<TwoTierCache<?>> caches;
+
+    /**
+     * MeterRegistry.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * CacheMonitor.
+     *
+     * @param monitoredCaches caches to monitor
+     * @param registry MeterRegistry
+     */
+    public CacheMonitor(final List<TwoTierCache<?>> monitoredCaches, final MeterRegistry registry) {
+        caches = monitoredCaches;
+        meterRegistry = registry;
+        caches.forEach(cache -> register(cache.getMap()));
+    }
+
+    /**
+     * Creates the timer a MapLoader records its loads with.
+     *
+     * @param registry MeterRegistry
+     * @param mapName map name
+     * @return Timer
+     */
+    public static Timer loadTimer(final MeterRegistry registry, final String mapName) {
+        return Timer
+                .builder(LOAD_TIMER)
+                .description("Time taken by the MapLoader to load entries from the database")
+                .tag("cache", mapName)
+                .register(registry);
+    }
+
+    /**
+     * Gets current statistics for every monitored map.
+     *
+     * @return list of CacheStatistics
+     */
+    public List<CacheStatistics> getStatistics() {
+        return caches.stream().map(this::statistics).collect(Collectors.toList());
+    }
+
+    /**
+     * Builds statistics for a cache.
+     *
+     * @param cache TwoTierCache
+     * @return CacheStatistics
+     */
+    private CacheStatistics statistics(final TwoTierCache<?> cache) {
+        final IMap<Long, ?> map = cache.getMap();
+        final CacheStatistics statistics = new CacheStatistics();
+        statistics.setName(map.getName());
+        final CacheStats l1Stats = cache.getL1Stats();
+        if (l1Stats != null) {
+            statistics.setL1Hits(l1Stats.hitCount());
+            statistics.setL1Misses(l1Stats.missCount());
+        }
+        statistics.setHits(stat(map, LocalMapStats::getHits));
+        statistics.setMisses(misses(map));
+        final long gets = stat(map, LocalMapStats::getGetOperationCount);
+        if (gets > 0) {
+            statistics.setHitRatio((double) statistics.getHits() / gets);
+        }
+        statistics.setEvictions(stat(map, LocalMapStats::getEvictionCount));
+        statistics.setExpirations(stat(map, LocalMapStats::getExpirationCount));
+        statistics.setEntryCount(stat(map, LocalMapStats::getOwnedEntryCount));
+        statistics.setMemoryCost(stat(map, LocalMapStats::getOwnedEntryMemoryCost));
+        final Timer loadTimer = meterRegistry.find(LOAD_TIMER).tag("cache", map.getName()).timer();
+        if (loadTimer != null) {
+            statistics.setLoads(loadTimer.count());
+            statistics.setAverageLoadMillis(loadTimer.mean(TimeUnit.MILLISECONDS));
+        }
+        return statistics;
+    }
+
+    /**
+     * Registers meters for a map.
+     *
+     * @param map IMap
+     */
+    private void register(final IMap<Long, ?> map) {
+        final String name = map.getName();
+        FunctionCounter.builder("cache.gets", map, m -> stat(m, LocalMapStats::getHits))
+                .tag("cache", name).tag("result", "hit")
+                .description("The number of times cache lookup methods have returned a cached value.")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", map, CacheMonitor::misses)
+                .tag("cache", name).tag("result", "miss")
+                .description("The number of times cache lookup methods have not returned a cached value.")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", map, m -> stat(m, LocalMapStats::getEvictionCount))
+                .tag("cache", name)
+                .description("The number of entries evicted from the cache.")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.expirations", map, m -> stat(m, LocalMapStats::getExpirationCount))
+                .tag("cache", name)
+                .description("The number of entries expired from the cache.")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", map, m -> stat(m, LocalMapStats::getOwnedEntryCount))
+                .tag("cache", name)
+                .description("The number of entries owned by this member.")
+                .register(meterRegistry);
+        Gauge.builder("cache.memory.cost", map, m -> stat(m, LocalMapStats::getOwnedEntryMemoryCost))
+                .tag("cache", name)
+                .baseUnit("bytes")
+                .description("The memory cost of entries owned by this member.")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get operations that didn't find a value in memory.
+     *
+     * @param map IMap
+     * @return miss count
+     */
+    private static long misses(final IMap<Long, ?> map) {
+        return Math.max(0L, stat(map, LocalMapStats::getGetOperationCount) - stat(map, LocalMapStats::getHits));
+    }
+
+    /**
+     * Reads a local map statistic. Local statistics are only kept by members, so clients report 0.
+     *
+     * @param map IMap
+     * @param statistic statistic to read
+     * @return statistic value
+     */
+    private static long stat(final IMap<Long, ?> map, final ToLongFunction<LocalMapStats> statistic) {
+        try {
+            return statistic.applyAsLong(map.getLocalMapStats());
+        } catch (UnsupportedOperationException uoe) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import lombok.Data;
+
+/**
+ * Statistics for a cached map on this member.
+ */
+@Data
+public class CacheStatistics {
+
+    /**
+     * Map name.
+     */
+    private String name;
+
+    /**
+     * L1 hits.
+     */
+    private long l1Hits;
+
+    /**
+     * L1 misses.
+     */
+    private long l1Misses;
+
+    /**
+     * L2 hits.
+     */
+    private long hits;
+
+    /**
+     * L2 misses.
+     */
+    private long misses;
+
+    /**
+     * L2 hit ratio.
+     */
+    private double hitRatio;
+
+    /**
+     * Entries evicted.
+     */
+    private long evictions;
+
+    /**
+     * Entries expired.
+     */
+    private long expirations;
+
+    /**
+     * Entries owned by this member.
+     */
+    private long entryCount;
+
+    /**
+     * Memory cost (in bytes) of entries owned by this member.
+     */
+    private long memoryCost;
+
+    /**
+     * Number of MapLoader loads.
+     */
+    private long loads;
+
+    /**
+     * Average MapLoader load latency (in milliseconds).
+     */
+    private double averageLoadMillis;
+}
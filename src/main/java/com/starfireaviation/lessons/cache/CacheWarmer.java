@@ -0,0 +1,167 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.common.model.Activity;
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import com.starfireaviation.lessons.config.ReplicaRoutingDataSource;
+import com.starfireaviation.lessons.config.ServiceConfig;
+import com.starfireaviation.lessons.model.LessonPlanRepository;
+import com.starfireaviation.lessons.model.LessonRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preloads configured lesson groups and presentable lesson plans into the caches at startup. Runs before the
+ * application reports ready, within a configurable time budget. What to preload is read from the primary, like the
+ * loads themselves.
+ */
+@Slf4j
+public class CacheWarmer implements ApplicationRunner {
+
+    /**
+     * WarmUpProperties.
+     */
+    private final ApplicationProperties.WarmUpProperties warmUpProps;
+
+    /**
+     * LessonRepository.
+     */
+    private final LessonRepository lessonRepository;
+
+    /**
+     * LessonPlanRepository.
+     */
+    private final LessonPlanRepository lessonPlanRepository;
+
+    /**
+     * HazelcastInstance.
+     */
+    private final HazelcastInstance hazelcastInstance;
+
+    /**
+     * CacheWarmer.
+     *
+     * @param wuProps WarmUpProperties
+     * @param lRepository LessonRepository
+     * @param lpRepository LessonPlanRepository
+     * @param hzInstance HazelcastInstance
+     */
+    public CacheWarmer(final ApplicationProperties.WarmUpProperties wuProps,
+                       final LessonRepository lRepository,
+                       final LessonPlanRepository lpRepository,
+                       final HazelcastInstance hzInstance) {
+        warmUpProps = wuProps;
+        lessonRepository = lRepository;
+        lessonPlanRepository = lpRepository;
+        hazelcastInstance = hzInstance;
+    }
+
+    /**
+     * Warms the caches.
+     *
+     * @param args ApplicationArguments
+     */
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (!warmUpProps.isEnabled()) {
+            return;
+        }
+        final long deadline = System.currentTimeMillis()
+                + TimeUnit.SECONDS.toMillis(warmUpProps.getTimeBudgetSeconds());
+        final long start = System.currentTimeMillis();
+        try {
+            warmLessonGroups(deadline);
+            if (warmUpProps.isPresentableLessonPlans()) {
+                warmLessonPlans(deadline);
+            }
+        } catch (RuntimeException re) {
+            // A failed warm-up only costs cache misses, so don't prevent startup
+            log.warn("Cache warm-up failed: {}", re.getMessage(), re);
+        }
+        log.info("Cache warm-up finished in {} ms", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Preloads the lessons for each configured group.
+     *
+     * @param deadline time (epoch millis) after which warm-up stops
+     */
+    private void warmLessonGroups(final long deadline) {
+        final IMap<Long, Lesson> lessons = hazelcastInstance.getMap(ServiceConfig.LESSONS_MAP);
+        final IMap<String, Integer> groups = hazelcastInstance.getMap(ServiceConfig.LESSON_GROUPS_MAP);
+        int warmed = 0;
+        for (final String group : warmUpProps.getGroups()) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("Cache warm-up time budget exceeded after {} of {} lesson groups",
+                        warmed, warmUpProps.getGroups().size());
+                return;
+            }
+            // getAll only loads keys that aren't cached, so newer or unwritten lessons are kept
+            final Map<Long, Lesson> groupLessons = lessons.getAll(new HashSet<>(
+                    ReplicaRoutingDataSource.onPrimary(() -> lessonRepository.findIdsByGroup(group))));
+            groups.set(group, groupLessons.size());
+            warmed++;
+            log.info("Warmed lesson group [{}] with {} lessons ({}/{})",
+                    group, groupLessons.size(), warmed, warmUpProps.getGroups().size());
+        }
+    }
+
+    /**
+     * Preloads presentable lesson plans, and the activities they reference, in batches.
+     *
+     * @param deadline time (epoch millis) after which warm-up stops
+     */
+    private void warmLessonPlans(final long deadline) {
+        final IMap<Long, LessonPlan> lessonPlans = hazelcastInstance.getMap(ServiceConfig.LESSON_PLANS_MAP);
+        final IMap<Long, Activity> activities = hazelcastInstance.getMap(ServiceConfig.ACTIVITIES_MAP);
+        final List<Long> lessonPlanIds = ReplicaRoutingDataSource.onPrimary(
+                () -> lessonPlanRepository.findIdsByPresentable(true));
+        final Set<Long> activityIds = new HashSet<>();
+        for (int i = 0; i < lessonPlanIds.size(); i += warmUpProps.getBatchSize()) {
+            if (System.currentTimeMillis() > deadline) {
+                log.warn("Cache warm-up time budget exceeded after {} of {} lesson plans", i, lessonPlanIds.size());
+                return;
+            }
+            final Set<Long> batch = new HashSet<>(
+                    lessonPlanIds.subList(i, Math.min(i + warmUpProps.getBatchSize(), lessonPlanIds.size())));
+            // getAll loads missing keys through the MapLoader in a single batch
+            lessonPlans.getAll(batch).values().forEach(lessonPlan -> {
+                if (lessonPlan.getActivityIds() != null) {
+                    activityIds.addAll(lessonPlan.getActivityIds());
+                }
+            });
+            log.info("Warmed {}/{} lesson plans", Math.min(i + batch.size(), lessonPlanIds.size()),
+                    lessonPlanIds.size());
+        }
+        if (!activityIds.isEmpty() && System.currentTimeMillis() <= deadline) {
+            activities.loadAll(activityIds, false);
+            log.info("Warmed {} activities", activityIds.size());
+        }
+    }
+}
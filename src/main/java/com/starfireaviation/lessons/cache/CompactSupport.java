@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Conversions shared by the compact serializers.
+ */
+final class CompactSupport {
+
+    /**
+     * CompactSupport.
+     */
+    private CompactSupport() {
+    }
+
+    /**
+     * Converts a date to epoch milliseconds.
+     *
+     * @param date Date
+     * @return epoch milliseconds or null
+     */
+    static Long toMillis(final Date date) {
+        if (date == null) {
+            return null;
+        }
+        return date.getTime();
+    }
+
+    /**
+     * Converts epoch milliseconds to a date.
+     *
+     * @param millis epoch milliseconds
+     * @return Date or null
+     */
+    static Date toDate(final Long millis) {
+        if (millis == null) {
+            return null;
+        }
+        return new Date(millis);
+    }
+
+    /**
+     * Converts a list of IDs to an array.
+     *
+     * @param ids list of IDs
+     * @return array of IDs or null
+     */
+    static long[] toArray(final List<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Converts an array of IDs to a list.
+     *
+     * @param ids array of IDs
+     * @return list of IDs or null
+     */
+    static List<Long> toList(final long[] ids) {
+        if (ids == null) {
+            return null;
+        }
+        return Arrays.stream(ids).boxed().collect(Collectors.toList());
+    }
+}
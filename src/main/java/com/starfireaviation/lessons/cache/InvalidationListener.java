@@ -0,0 +1,160 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import com.hazelcast.map.listener.MapEvictedListener;
+
+import java.util.function.Consumer;
+
+/**
+ * Map listener that keeps an in-process copy coherent with a Hazelcast map, invalidating a key on any change to its
+ * entry and everything when the map is cleared or evicted.
+ *
+ * @param <V> map value type
+ */
+final class InvalidationListener<V> implements EntryAddedListener<Long, V>, EntryUpdatedListener<Long, V>,
+        EntryRemovedListener<Long, V>, EntryEvictedListener<Long, V>, EntryExpiredListener<Long, V>,
+        MapClearedListener, MapEvictedListener {
+
+    /**
+     * Invalidates a key.
+     */
+    private final Consumer<Long> invalidate;
+
+    /**
+     * Invalidates everything.
+     */
+    private final Runnable invalidateAll;
+
+    /**
+     * Called after an entry is added.
+     */
+    private final Consumer<Long> added;
+
+    /**
+     * Called after an entry is removed.
+     */
+    private final Consumer<Long> removed;
+
+    /**
+     * InvalidationListener.
+     *
+     * @param onInvalidate invalidates a key
+     * @param onInvalidateAll invalidates everything
+     */
+    InvalidationListener(final Consumer<Long> onInvalidate, final Runnable onInvalidateAll) {
+        this(onInvalidate, onInvalidateAll, key -> { }, key -> { });
+    }
+
+    /**
+     * InvalidationListener.
+     *
+     * @param onInvalidate invalidates a key
+     * @param onInvalidateAll invalidates everything
+     * @param onAdded called after an entry is added
+     * @param onRemoved called after an entry is removed
+     */
+    InvalidationListener(final Consumer<Long> onInvalidate,
+                         final Runnable onInvalidateAll,
+                         final Consumer<Long> onAdded,
+                         final Consumer<Long> onRemoved) {
+        invalidate = onInvalidate;
+        invalidateAll = onInvalidateAll;
+        added = onAdded;
+        removed = onRemoved;
+    }
+
+    /**
+     * Entry added.
+     *
+     * @param event EntryEvent
+     */
+    @Override
+    public void entryAdded(final EntryEvent<Long, V> event) {
+        invalidate.accept(event.getKey());
+        added.accept(event.getKey());
+    }
+
+    /**
+     * Entry updated.
+     *
+     * @param event EntryEvent
+     */
+    @Override
+    public void entryUpdated(final EntryEvent<Long, V> event) {
+        invalidate.accept(event.getKey());
+    }
+
+    /**
+     * Entry removed.
+     *
+     * @param event EntryEvent
+     */
+    @Override
+    public void entryRemoved(final EntryEvent<Long, V> event) {
+        invalidate.accept(event.getKey());
+        removed.accept(event.getKey());
+    }
+
+    /**
+     * Entry evicted.
+     *
+     * @param event EntryEvent
+     */
+    @Override
+    public void entryEvicted(final EntryEvent<Long, V> event) {
+        invalidate.accept(event.getKey());
+    }
+
+    /**
+     * Entry expired.
+     *
+     * @param event EntryEvent
+     */
+    @Override
+    public void entryExpired(final EntryEvent<Long, V> event) {
+        invalidate.accept(event.getKey());
+    }
+
+    /**
+     * Map cleared.
+     *
+     * @param event MapEvent
+     */
+    @Override
+    public void mapCleared(final MapEvent event) {
+        invalidateAll.run();
+    }
+
+    /**
+     * Map evicted.
+     *
+     * @param event MapEvent
+     */
+    @Override
+    public void mapEvicted(final MapEvent event) {
+        invalidateAll.run();
+    }
+}
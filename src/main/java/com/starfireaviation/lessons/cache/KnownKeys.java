@@ -0,0 +1,162 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Tracks which keys may exist, so lookups for unknown keys can be answered without reaching the database. Existing
+ * keys are kept in a Bloom filter built from the database at startup; keys recently found missing (including deleted
+ * ones, which a Bloom filter can't forget) are remembered for a short time. Until the filter has been built every key
+ * is treated as possibly existing.
+ */
+@Slf4j
+public class KnownKeys {
+
+    /**
+     * Name, for logging.
+     */
+    private final String name;
+
+    /**
+     * NegativeCacheProperties.
+     */
+    private final ApplicationProperties.NegativeCacheProperties negativeCacheProps;
+
+    /**
+     * Keys recently found missing.
+     */
+    private final Cache<Long, Boolean> missing;
+
+    /**
+     * Bloom filter of existing keys, null until built.
+     */
+    private volatile BloomFilter<Long> existing;
+
+    /**
+     * Keys added since a rebuild began, replayed into the new filter before it replaces the old one; null when no
+     * rebuild is running. Guarded by {@link #lock}.
+     */
+    private Set<Long> addedDuringRebuild;
+
+    /**
+     * Orders additions against the start and end of a rebuild.
+     */
+    private final Object lock = new Object();
+
+    /**
+     * KnownKeys.
+     *
+     * @param keysName name, for logging
+     * @param ncProps NegativeCacheProperties
+     */
+    public KnownKeys(final String keysName, final ApplicationProperties.NegativeCacheProperties ncProps) {
+        name = keysName;
+        negativeCacheProps = ncProps;
+        missing = Caffeine
+                .newBuilder()
+                .maximumSize(ncProps.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(ncProps.getTimeToLiveSeconds()))
+                .build();
+    }
+
+    /**
+     * Whether a key may exist. False means it certainly doesn't (or was recently found missing).
+     *
+     * @param key key
+     * @return false when the key is known not to exist
+     */
+    public boolean mightExist(final Long key) {
+        if (missing.getIfPresent(key) != null) {
+            return false;
+        }
+        final BloomFilter<Long> filter = existing;
+        return filter == null || filter.mightContain(key);
+    }
+
+    /**
+     * Records that a key exists.
+     *
+     * @param key key
+     */
+    public void present(final Long key) {
+        missing.invalidate(key);
+        synchronized (lock) {
+            if (existing != null) {
+                existing.put(key);
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.add(key);
+            }
+        }
+    }
+
+    /**
+     * Records that a key doesn't exist (not found or deleted).
+     *
+     * @param key key
+     */
+    public void absent(final Long key) {
+        missing.put(key, Boolean.TRUE);
+    }
+
+    /**
+     * Rebuilds the Bloom filter from the keys currently in the database. Keys added while the database is read may
+     * be missing from what it returns, so they are recorded and added to the new filter before it is swapped in. On
+     * failure the previous filter, if any, is kept.
+     *
+     * @param keySupplier supplies every existing key
+     */
+    public void rebuild(final Supplier<Collection<Long>> keySupplier) {
+        final BloomFilter<Long> filter = BloomFilter.create(Funnels.longFunnel(),
+                negativeCacheProps.getExpectedKeys(), negativeCacheProps.getFalsePositiveProbability());
+        synchronized (lock) {
+            addedDuringRebuild = new HashSet<>();
+        }
+        try {
+            final Collection<Long> keys = keySupplier.get();
+            keys.forEach(filter::put);
+            synchronized (lock) {
+                addedDuringRebuild.forEach(filter::put);
+                existing = filter;
+            }
+            if (keys.size() > negativeCacheProps.getExpectedKeys()) {
+                log.warn("{} has {} keys but its Bloom filter is sized for {}; raise expected-keys",
+                        name, keys.size(), negativeCacheProps.getExpectedKeys());
+            }
+            log.info("Built {} key filter with {} keys", name, keys.size());
+        } catch (RuntimeException re) {
+            // Without a filter every key is looked up, which is slower but still correct
+            log.warn("Unable to build {} key filter: {}", name, re.getMessage(), re);
+        } finally {
+            synchronized (lock) {
+                addedDuringRebuild = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import com.starfireaviation.common.model.Lesson;
+
+/**
+ * Compact serializer for cached lessons.
+ */
+public class LessonCompactSerializer implements CompactSerializer<Lesson> {
+
+    /**
+     * Reads a lesson.
+     *
+     * @param reader CompactReader
+     * @return Lesson
+     */
+    @Override
+    public Lesson read(final CompactReader reader) {
+        final Lesson lesson = new Lesson();
+        lesson.setId(reader.readNullableInt64("id"));
+        lesson.setGroup(reader.readString("group"));
+        lesson.setChapter(reader.readNullableInt64("chapter"));
+        lesson.setTitle(reader.readString("title"));
+        lesson.setText(reader.readString("text"));
+        lesson.setRequired(reader.readBoolean("required"));
+        lesson.setCreatedAt(CompactSupport.toDate(reader.readNullableInt64("createdAt")));
+        lesson.setUpdatedAt(CompactSupport.toDate(reader.readNullableInt64("updatedAt")));
+        return lesson;
+    }
+
+    /**
+     * Writes a lesson.
+     *
+     * @param writer CompactWriter
+     * @param lesson Lesson
+     */
+    @Override
+    public void write(final CompactWriter writer, final Lesson lesson) {
+        writer.writeNullableInt64("id", lesson.getId());
+        writer.writeString("group", lesson.getGroup());
+        writer.writeNullableInt64("chapter", lesson.getChapter());
+        writer.writeString("title", lesson.getTitle());
+        writer.writeString("text", lesson.getText());
+        writer.writeBoolean("required", lesson.isRequired());
+        writer.writeNullableInt64("createdAt", CompactSupport.toMillis(lesson.getCreatedAt()));
+        writer.writeNullableInt64("updatedAt", CompactSupport.toMillis(lesson.getUpdatedAt()));
+    }
+
+    /**
+     * Schema type name.
+     *
+     * @return type name
+     */
+    @Override
+    public String getTypeName() {
+        return "lesson";
+    }
+
+    /**
+     * Serialized class.
+     *
+     * @return Lesson class
+     */
+    @Override
+    public Class<Lesson> getCompactClass() {
+        return Lesson.class;
+    }
+}
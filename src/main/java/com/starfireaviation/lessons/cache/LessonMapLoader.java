@@ -0,0 +1,97 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.map.MapLoader;
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.lessons.config.ReplicaRoutingDataSource;
+import com.starfireaviation.lessons.mapper.LessonMapper;
+import com.starfireaviation.lessons.model.LessonRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through loader for the lessons map. Loads read from the primary, so rows the replica hasn't caught up with
+ * aren't cached.
+ */
+public class LessonMapLoader implements MapLoader<Long, Lesson> {
+
+    /**
+     * LessonRepository.
+     */
+    private final LessonRepository lessonRepository;
+
+    /**
+     * Load timer.
+     */
+    private final Timer loadTimer;
+
+    /**
+     * LessonMapLoader.
+     *
+     * @param lRepository LessonRepository
+     * @param meterRegistry MeterRegistry
+     */
+    public LessonMapLoader(final LessonRepository lRepository, final MeterRegistry meterRegistry) {
+        lessonRepository = lRepository;
+        loadTimer = CacheMonitor.loadTimer(meterRegistry, "lessons");
+    }
+
+    /**
+     * Loads a lesson.
+     *
+     * @param lessonId Lesson ID
+     * @return Lesson or null when not found
+     */
+    @Override
+    public Lesson load(final Long lessonId) {
+        return loadTimer.record(() -> ReplicaRoutingDataSource.onPrimary(() -> lessonRepository
+                .findById(lessonId)
+                .map(LessonMapper::map)
+                .orElse(null)));
+    }
+
+    /**
+     * Loads the given lessons.
+     *
+     * @param lessonIds Lesson IDs
+     * @return Lessons found, keyed by ID
+     */
+    @Override
+    public Map<Long, Lesson> loadAll(final Collection<Long> lessonIds) {
+        return loadTimer.record(() -> ReplicaRoutingDataSource.onPrimary(() -> lessonRepository
+                .findAllById(lessonIds)
+                .stream()
+                .map(LessonMapper::map)
+                .collect(Collectors.toMap(Lesson::getId, Function.identity()))));
+    }
+
+    /**
+     * Lessons are loaded on demand rather than eagerly when the map is created.
+     *
+     * @return null
+     */
+    @Override
+    public Iterable<Long> loadAllKeys() {
+        return null;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.map.MapStore;
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.lessons.mapper.LessonMapper;
+import com.starfireaviation.lessons.model.LessonEntity;
+import com.starfireaviation.lessons.model.LessonRepository;
+import com.starfireaviation.lessons.service.LessonService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind store for the lessons map. Changes placed in the map are persisted asynchronously in batches.
+ */
+@Slf4j
+public class LessonMapStore extends LessonMapLoader implements MapStore<Long, Lesson> {
+
+    /**
+     * LessonService, whose transactions the writes run in.
+     */
+    private final LessonService lessonService;
+
+    /**
+     * Time between a lesson being updated and the change reaching the database.
+     */
+    private final Timer writeBehindLag;
+
+    /**
+     * LessonMapStore.
+     *
+     * @param lRepository LessonRepository
+     * @param lService LessonService
+     * @param meterRegistry MeterRegistry
+     */
+    public LessonMapStore(final LessonRepository lRepository,
+                          final LessonService lService,
+                          final MeterRegistry meterRegistry) {
+        super(lRepository, meterRegistry);
+        lessonService = lService;
+        writeBehindLag = Timer
+                .builder("lessons.cache.write-behind.lag")
+                .description("Time between a lesson update and its write to the database")
+                .tag("map", "lessons")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Persists a lesson.
+     *
+     * @param lessonId Lesson ID
+     * @param lesson Lesson
+     */
+    @Override
+    public void store(final Long lessonId, final Lesson lesson) {
+        lessonService.store(LessonMapper.map(lesson));
+        recordLag(lesson);
+    }
+
+    /**
+     * Persists a batch of lessons.
+     *
+     * @param lessons Lessons, keyed by ID
+     */
+    @Override
+    public void storeAll(final Map<Long, Lesson> lessons) {
+        final List<LessonEntity> lessonEntities = lessons
+                .values()
+                .stream()
+                .map(LessonMapper::map)
+                .collect(Collectors.toList());
+        lessonService.storeAll(lessonEntities);
+        lessons.values().forEach(this::recordLag);
+        log.debug("Wrote {} lessons behind", lessonEntities.size());
+    }
+
+    /**
+     * Deletes a lesson, if it still exists.
+     *
+     * @param lessonId Lesson ID
+     */
+    @Override
+    public void delete(final Long lessonId) {
+        lessonService.deleteAllById(List.of(lessonId));
+    }
+
+    /**
+     * Deletes a batch of lessons, ignoring any that no longer exist.
+     *
+     * @param lessonIds Lesson IDs
+     */
+    @Override
+    public void deleteAll(final Collection<Long> lessonIds) {
+        lessonService.deleteAllById(lessonIds);
+    }
+
+    /**
+     * Records the write-behind lag for a lesson based on when it was last updated.
+     *
+     * @param lesson Lesson
+     */
+    private void recordLag(final Lesson lesson) {
+        if (lesson.getUpdatedAt() != null) {
+            writeBehindLag.record(
+                    System.currentTimeMillis() - lesson.getUpdatedAt().getTime(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.map.MapLoader;
+import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.config.ReplicaRoutingDataSource;
+import com.starfireaviation.lessons.mapper.LessonPlanMapper;
+import com.starfireaviation.lessons.model.LessonPlanEntity;
+import com.starfireaviation.lessons.model.LessonPlanRepository;
+import com.starfireaviation.lessons.service.LessonPlanService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Read-through loader for the lessonplans map. Loads, including their activity and lesson links, read from the
+ * primary, so rows the replica hasn't caught up with aren't cached.
+ */
+public class LessonPlanMapLoader implements MapLoader<Long, LessonPlan> {
+
+    /**
+     * LessonPlanRepository.
+     */
+    private final LessonPlanRepository lessonPlanRepository;
+
+    /**
+     * Load timer.
+     */
+    private final Timer loadTimer;
+
+    /**
+     * LessonPlanService.
+     */
+    private final LessonPlanService lessonPlanService;
+
+    /**
+     * LessonPlanMapLoader.
+     *
+     * @param lpRepository LessonPlanRepository
+     * @param lpService LessonPlanService
+     * @param meterRegistry MeterRegistry
+     */
+    public LessonPlanMapLoader(final LessonPlanRepository lpRepository,
+                               final LessonPlanService lpService,
+                               final MeterRegistry meterRegistry) {
+        lessonPlanRepository = lpRepository;
+        lessonPlanService = lpService;
+        loadTimer = CacheMonitor.loadTimer(meterRegistry, "lessonplans");
+    }
+
+    /**
+     * Loads a lesson plan.
+     *
+     * @param lessonPlanId LessonPlan ID
+     * @return LessonPlan or null when not found
+     */
+    @Override
+    public LessonPlan load(final Long lessonPlanId) {
+        return loadTimer.record(() -> ReplicaRoutingDataSource.onPrimary(() -> lessonPlanRepository
+                .findById(lessonPlanId)
+                .map(lessonPlanEntity -> LessonPlanMapper.map(
+                        lessonPlanEntity,
+                        lessonPlanService.getActivityIdsForLessonPlan(lessonPlanId),
+                        lessonPlanService.getLessonIdsForLessonPlan(lessonPlanId)))
+                .orElse(null)));
+    }
+
+    /**
+     * Loads the given lesson plans. Linked activities and lessons are fetched for the whole batch at once, so the
+     * number of queries doesn't grow with the number of lesson plans.
+     *
+     * @param lessonPlanIds LessonPlan IDs
+     * @return LessonPlans found, keyed by ID
+     */
+    @Override
+    public Map<Long, LessonPlan> loadAll(final Collection<Long> lessonPlanIds) {
+        return loadTimer.record(() -> ReplicaRoutingDataSource.onPrimary(() -> {
+            final List<LessonPlanEntity> lessonPlanEntities = lessonPlanRepository.findAllById(lessonPlanIds);
+            final Set<Long> foundIds = lessonPlanEntities
+                    .stream()
+                    .map(LessonPlanEntity::getId)
+                    .collect(Collectors.toSet());
+            final Map<Long, List<Long>> activityIds = lessonPlanService.getActivityIdsForLessonPlans(foundIds);
+            final Map<Long, List<Long>> lessonIds = lessonPlanService.getLessonIdsForLessonPlans(foundIds);
+            return lessonPlanEntities
+                    .stream()
+                    .map(lessonPlanEntity -> LessonPlanMapper.map(
+                            lessonPlanEntity,
+                            activityIds.getOrDefault(lessonPlanEntity.getId(), new ArrayList<>()),
+                            lessonIds.getOrDefault(lessonPlanEntity.getId(), new ArrayList<>())))
+                    .collect(Collectors.toMap(LessonPlan::getId, Function.identity()));
+        }));
+    }
+
+    /**
+     * Lesson plans are loaded on demand rather than eagerly when the map is created.
+     *
+     * @return null
+     */
+    @Override
+    public Iterable<Long> loadAllKeys() {
+        return null;
+    }
+}
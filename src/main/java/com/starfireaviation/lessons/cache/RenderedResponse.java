@@ -0,0 +1,38 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A cached value rendered as UTF-8 JSON, and optionally gzip compressed, ready to be written to a response.
+ */
+@Getter
+@AllArgsConstructor
+public class RenderedResponse {
+
+    /**
+     * UTF-8 JSON.
+     */
+    private final byte[] json;
+
+    /**
+     * Gzip compressed JSON, null when compression is disabled.
+     */
+    private final byte[] gzip;
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-process cache of responses pre-rendered from a map's values, so hits are written out without going through
+ * Jackson again. Entries are invalidated by local writes and by map entry events. When disabled, every value is
+ * rendered as it is requested.
+ *
+ * @param <V> cached type
+ */
+public class RenderedResponseCache<V> {
+
+    /**
+     * ObjectMapper, the same one used to write regular responses.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Also keep a gzip compressed copy.
+     */
+    private final boolean gzip;
+
+    /**
+     * Rendered responses, null when disabled.
+     */
+    private final Cache<Long, RenderedResponse> rendered;
+
+    /**
+     * Number of invalidations so far, so a render can tell whether the value it loaded may have been replaced.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * RenderedResponseCache.
+     *
+     * @param map Hazelcast map whose values are rendered
+     * @param rProps RenderedResponseProperties
+     * @param mapper ObjectMapper
+     * @param meterRegistry MeterRegistry
+     */
+    public RenderedResponseCache(final IMap<Long, V> map,
+                                 final ApplicationProperties.RenderedResponseProperties rProps,
+                                 final ObjectMapper mapper,
+                                 final MeterRegistry meterRegistry) {
+        objectMapper = mapper;
+        gzip = rProps.isGzip();
+        if (rProps.isEnabled()) {
+            rendered = Caffeine
+                    .newBuilder()
+                    .maximumSize(rProps.getMaxSize())
+                    .expireAfterWrite(Duration.ofSeconds(rProps.getTimeToLiveSeconds()))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, rendered, map.getName() + ".rendered");
+            map.addEntryListener(new InvalidationListener<V>(this::invalidate, this::invalidateAll), false);
+        } else {
+            rendered = null;
+        }
+    }
+
+    /**
+     * Gets a rendered response, rendering the loaded value on a miss. The value is loaded and rendered outside the
+     * cache's locks, so a slow load doesn't hold up other keys; concurrent misses for a key share the loader's own
+     * lookup. A render is only kept if no invalidation happened after its load began, so a stale value is never left
+     * behind.
+     *
+     * @param key key
+     * @param loader loads the value to render
+     * @return RenderedResponse or null when there is no value
+     */
+    public RenderedResponse get(final Long key, final Function<Long, V> loader) {
+        if (rendered == null) {
+            final V value = loader.apply(key);
+            if (value == null) {
+                return null;
+            }
+            return render(value, false);
+        }
+        final RenderedResponse cached = rendered.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        final long stamp = invalidations.get();
+        final V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        final RenderedResponse response = render(value, gzip);
+        rendered.put(key, response);
+        // Checked after the put, so an invalidation that starts after the check still removes it
+        if (invalidations.get() != stamp) {
+            rendered.invalidate(key);
+        }
+        return response;
+    }
+
+    /**
+     * Evicts a rendered response.
+     *
+     * @param key key
+     */
+    public void invalidate(final Long key) {
+        if (rendered != null) {
+            invalidations.incrementAndGet();
+            rendered.invalidate(key);
+        }
+    }
+
+    /**
+     * Evicts every rendered response.
+     */
+    private void invalidateAll() {
+        invalidations.incrementAndGet();
+        rendered.invalidateAll();
+    }
+
+    /**
+     * Renders a value as JSON and, optionally, gzip.
+     *
+     * @param value value
+     * @param compress also keep a gzip compressed copy
+     * @return RenderedResponse
+     */
+    private RenderedResponse render(final V value, final boolean compress) {
+        try {
+            final byte[] json = objectMapper.writeValueAsBytes(value);
+            if (!compress) {
+                return new RenderedResponse(json, null);
+            }
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            return new RenderedResponse(json, compressed.toByteArray());
+        } catch (JsonProcessingException jpe) {
+            throw new IllegalStateException("Unable to render cached value", jpe);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.map.IMap;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Cache of values read from the database by the caller, such as summaries, with a cluster-wide version per key that
+ * writers bump when they evict it. A reader takes the version before reading the database and its value is only kept
+ * if the version is unchanged afterwards, so a change committed while it was reading can't leave a stale value cached.
+ *
+ * @param <K> key type
+ * @param <V> cached type
+ */
+public class StampedCache<K, V> {
+
+    /**
+     * Cached values.
+     */
+    private final IMap<K, V> map;
+
+    /**
+     * Version of each key, absent until it is first evicted.
+     */
+    private final IMap<K, Long> versions;
+
+    /**
+     * StampedCache.
+     *
+     * @param valueMap Hazelcast map of cached values
+     * @param versionMap Hazelcast map of versions
+     */
+    public StampedCache(final IMap<K, V> valueMap, final IMap<K, Long> versionMap) {
+        map = valueMap;
+        versions = versionMap;
+    }
+
+    /**
+     * Gets a cached value.
+     *
+     * @param key key
+     * @return value or null when not cached
+     */
+    public V get(final K key) {
+        return map.get(key);
+    }
+
+    /**
+     * Gets the cached values for the given keys.
+     *
+     * @param keys keys
+     * @return cached values, keyed by key
+     */
+    public Map<K, V> getAll(final Set<K> keys) {
+        return map.getAll(keys);
+    }
+
+    /**
+     * Current version of a key, to be taken before the value is read.
+     *
+     * @param key key
+     * @return version or null when the key has never been evicted
+     */
+    public Long stamp(final K key) {
+        return versions.get(key);
+    }
+
+    /**
+     * Current versions of the given keys, to be taken before their values are read.
+     *
+     * @param keys keys
+     * @return versions, keyed by key (absent for keys that have never been evicted)
+     */
+    public Map<K, Long> stamps(final Set<K> keys) {
+        return versions.getAll(keys);
+    }
+
+    /**
+     * Caches a value unless its key was evicted after the given version was taken. The value is added before
+     * checking, so an eviction that starts after the check still removes it.
+     *
+     * @param key key
+     * @param value value read after the version was taken
+     * @param stamp version taken before the read
+     */
+    public void put(final K key, final V value, final Long stamp) {
+        map.set(key, value);
+        if (!Objects.equals(stamp, versions.get(key))) {
+            map.remove(key, value);
+        }
+    }
+
+    /**
+     * Caches values unless their keys were evicted after the given versions were taken.
+     *
+     * @param values values read after the versions were taken, keyed by key
+     * @param stamps versions taken before the read, keyed by key
+     */
+    public void putAll(final Map<K, V> values, final Map<K, Long> stamps) {
+        map.putAll(values);
+        final Map<K, Long> current = versions.getAll(values.keySet());
+        values.forEach((key, value) -> {
+            if (!Objects.equals(stamps.get(key), current.get(key))) {
+                map.remove(key, value);
+            }
+        });
+    }
+
+    /**
+     * Evicts a value after a change to it, bumping its version first so a read already in progress doesn't cache
+     * what it read.
+     *
+     * @param key key
+     */
+    public void evict(final K key) {
+        versions.merge(key, 1L, Long::sum);
+        map.delete(key);
+    }
+}
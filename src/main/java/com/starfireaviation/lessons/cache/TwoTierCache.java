@@ -0,0 +1,311 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cache with an optional in-process L1 of ready-to-serve objects in front of a Hazelcast map (L2). L1 entries are
+ * invalidated by local writes and by map entry events, so changes made on other members are picked up as well.
+ * Optionally, lookups for keys known not to exist are answered without reaching the map or its MapLoader.
+ *
+ * @param <V> cached type
+ */
+public class TwoTierCache<V> {
+
+    /**
+     * L2 map.
+     */
+    private final IMap<Long, V> map;
+
+    /**
+     * L1 cache, null when disabled.
+     */
+    private final Cache<Long, V> l1;
+
+    /**
+     * Known keys, null when the negative cache is disabled.
+     */
+    private final KnownKeys knownKeys;
+
+    /**
+     * Loads in progress, so concurrent misses for the same key share a single map (and database) lookup.
+     */
+    private final ConcurrentMap<Long, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Number of L1 invalidations so far, so a lookup can tell whether the value it read may have been replaced.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * TwoTierCache without a negative cache.
+     *
+     * @param l2Map Hazelcast map
+     * @param l1Props L1Properties
+     * @param meterRegistry MeterRegistry
+     */
+    public TwoTierCache(final IMap<Long, V> l2Map,
+                        final ApplicationProperties.L1Properties l1Props,
+                        final MeterRegistry meterRegistry) {
+        this(l2Map, l1Props, new ApplicationProperties.NegativeCacheProperties(), meterRegistry);
+    }
+
+    /**
+     * TwoTierCache.
+     *
+     * @param l2Map Hazelcast map
+     * @param l1Props L1Properties
+     * @param ncProps NegativeCacheProperties
+     * @param meterRegistry MeterRegistry
+     */
+    public TwoTierCache(final IMap<Long, V> l2Map,
+                        final ApplicationProperties.L1Properties l1Props,
+                        final ApplicationProperties.NegativeCacheProperties ncProps,
+                        final MeterRegistry meterRegistry) {
+        map = l2Map;
+        if (l1Props.isEnabled()) {
+            l1 = Caffeine
+                    .newBuilder()
+                    .maximumSize(l1Props.getMaxSize())
+                    .expireAfterWrite(Duration.ofSeconds(l1Props.getTimeToLiveSeconds()))
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, l1, map.getName() + ".l1");
+        } else {
+            l1 = null;
+        }
+        if (ncProps.isEnabled()) {
+            knownKeys = new KnownKeys(map.getName(), ncProps);
+        } else {
+            knownKeys = null;
+        }
+        if (l1 != null || knownKeys != null) {
+            map.addEntryListener(new InvalidationListener<V>(this::invalidate, this::invalidateAll, this::present,
+                    this::absent), false);
+        }
+    }
+
+    /**
+     * Gets a value from L1, falling back to the map (and its MapLoader). Concurrent misses for the same key wait for
+     * the first lookup rather than issuing their own. Keys known not to exist are rejected without a lookup.
+     *
+     * @param key key
+     * @return value or null when not found
+     */
+    public V get(final Long key) {
+        if (l1 != null) {
+            final V value = l1.getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (knownKeys != null && !knownKeys.mightExist(key)) {
+            return null;
+        }
+        final CompletableFuture<V> flight = new CompletableFuture<>();
+        final CompletableFuture<V> existingFlight = inFlight.putIfAbsent(key, flight);
+        if (existingFlight != null) {
+            return await(existingFlight);
+        }
+        try {
+            final long stamp = invalidations.get();
+            final V value = map.get(key);
+            if (value == null) {
+                absent(key);
+            } else if (l1 != null) {
+                putL1(key, value, stamp);
+            }
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException re) {
+            flight.completeExceptionally(re);
+            throw re;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Sets a value in the map, writing through to the MapStore if there is one.
+     *
+     * @param key key
+     * @param value value
+     */
+    public void set(final Long key, final V value) {
+        map.set(key, value);
+        invalidate(key);
+        present(key);
+    }
+
+    /**
+     * Puts a value in the map without writing to the MapStore, using the map's default time to live.
+     *
+     * @param key key
+     * @param value value
+     */
+    public void putTransient(final Long key, final V value) {
+        map.putTransient(key, value, -1, TimeUnit.SECONDS);
+        invalidate(key);
+        present(key);
+    }
+
+    /**
+     * Deletes a value.
+     *
+     * @param key key
+     */
+    public void delete(final Long key) {
+        map.delete(key);
+        invalidate(key);
+        absent(key);
+    }
+
+    /**
+     * Evicts a value from the map and L1, without deleting it from the MapStore, so it is reloaded on next access.
+     *
+     * @param key key
+     */
+    public void evict(final Long key) {
+        map.evict(key);
+        invalidate(key);
+    }
+
+    /**
+     * Rebuilds the filter of existing keys. Does nothing when the negative cache is disabled.
+     *
+     * @param keySupplier supplies every existing key
+     */
+    public void rebuildKnownKeys(final Supplier<Collection<Long>> keySupplier) {
+        if (knownKeys != null) {
+            knownKeys.rebuild(keySupplier);
+        }
+    }
+
+    /**
+     * Underlying Hazelcast map, for queries and bulk operations.
+     *
+     * @return IMap
+     */
+    public IMap<Long, V> getMap() {
+        return map;
+    }
+
+    /**
+     * Waits for another thread's lookup, rethrowing its failure.
+     *
+     * @param flight lookup in progress
+     * @return value or null when not found
+     */
+    private V await(final CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ce.getCause();
+            }
+            throw ce;
+        }
+    }
+
+    /**
+     * L1 statistics.
+     *
+     * @return CacheStats or null when L1 is disabled
+     */
+    public CacheStats getL1Stats() {
+        if (l1 == null) {
+            return null;
+        }
+        return l1.stats();
+    }
+
+    /**
+     * Adds a value read from the map to L1, unless an invalidation happened after the read began. The value is added
+     * before checking, so an invalidation that starts after the check still removes it.
+     *
+     * @param key key
+     * @param value value read from the map
+     * @param stamp invalidation count before the read
+     */
+    private void putL1(final Long key, final V value, final long stamp) {
+        l1.put(key, value);
+        if (invalidations.get() != stamp) {
+            l1.invalidate(key);
+        }
+    }
+
+    /**
+     * Evicts a key from L1.
+     *
+     * @param key key
+     */
+    private void invalidate(final Long key) {
+        if (l1 != null) {
+            invalidations.incrementAndGet();
+            l1.invalidate(key);
+        }
+    }
+
+    /**
+     * Evicts everything from L1.
+     */
+    private void invalidateAll() {
+        if (l1 != null) {
+            invalidations.incrementAndGet();
+            l1.invalidateAll();
+        }
+    }
+
+    /**
+     * Records that a key exists.
+     *
+     * @param key key
+     */
+    private void present(final Long key) {
+        if (knownKeys != null) {
+            knownKeys.present(key);
+        }
+    }
+
+    /**
+     * Records that a key doesn't exist.
+     *
+     * @param key key
+     */
+    private void absent(final Long key) {
+        if (knownKeys != null) {
+            knownKeys.absent(key);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.map.IMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+/**
+ * Flushes a map's pending write-behind entries to the database before the Hazelcast instance shuts down.
+ */
+@Slf4j
+public class WriteBehindFlusher implements DisposableBean {
+
+    /**
+     * Map to flush.
+     */
+    private final IMap<Long, ?> map;
+
+    /**
+     * WriteBehindFlusher.
+     *
+     * @param writeBehindMap map using a write-behind MapStore
+     */
+    public WriteBehindFlusher(final IMap<Long, ?> writeBehindMap) {
+        map = writeBehindMap;
+    }
+
+    /**
+     * Flushes pending write-behind entries.
+     */
+    @Override
+    public void destroy() {
+        log.info("Flushing write-behind entries for map [{}]", map.getName());
+        map.flush();
+    }
+}
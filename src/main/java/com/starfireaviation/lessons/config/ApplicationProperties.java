@@ -16,10 +16,17 @@
 
 package com.starfireaviation.lessons.config;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.starfireaviation.common.CommonConstants;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Application Properties.
  */
@@ -28,6 +35,136 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties("lessons")
 public class ApplicationProperties {
 
+    /**
+     * Default near cache size (entries).
+     */
+    private static final int DEFAULT_NEAR_CACHE_SIZE = 10_000;
+
+    /**
+     * Default write-behind delay (in seconds).
+     */
+    private static final int DEFAULT_WRITE_DELAY_SECONDS = 5;
+
+    /**
+     * Default write-behind batch size.
+     */
+    private static final int DEFAULT_WRITE_BATCH_SIZE = 100;
+
+    /**
+     * Default write-behind queue capacity (entries per member).
+     */
+    private static final int DEFAULT_WRITE_BEHIND_QUEUE_CAPACITY = 10_000;
+
+    /**
+     * Default user cache time to live (in seconds).
+     */
+    private static final int DEFAULT_USER_CACHE_TTL_SECONDS = 60;
+
+    /**
+     * Default user cache size (entries).
+     */
+    private static final int DEFAULT_USER_CACHE_SIZE = 1_000;
+
+    /**
+     * Default L1 cache size (entries).
+     */
+    private static final int DEFAULT_L1_SIZE = 1_000;
+
+    /**
+     * Default L1 cache time to live (in seconds).
+     */
+    private static final int DEFAULT_L1_TTL_SECONDS = 60;
+
+    /**
+     * Default warm-up time budget (in seconds).
+     */
+    private static final int DEFAULT_WARM_UP_SECONDS = 60;
+
+    /**
+     * Default negative cache time to live (in seconds).
+     */
+    private static final int DEFAULT_NEGATIVE_CACHE_TTL_SECONDS = 30;
+
+    /**
+     * Default negative cache size.
+     */
+    private static final int DEFAULT_NEGATIVE_CACHE_SIZE = 10_000;
+
+    /**
+     * Default number of keys the Bloom filter is sized for.
+     */
+    private static final int DEFAULT_EXPECTED_KEYS = 100_000;
+
+    /**
+     * Default Bloom filter false positive probability.
+     */
+    private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    /**
+     * Default percentage of the container memory limit given to the cached maps.
+     */
+    private static final int DEFAULT_CACHE_MEMORY_PERCENTAGE = 20;
+
+    /**
+     * Default upper bound on the cache memory budget, as a percentage of the maximum heap.
+     */
+    private static final int DEFAULT_MAX_HEAP_PERCENTAGE = 40;
+
+    /**
+     * Default share (percentage) of the cache memory budget given to a map.
+     */
+    private static final int DEFAULT_MEMORY_SHARE = 25;
+
+    /**
+     * Default share (percentage) of the cache memory budget given to a map's summaries.
+     */
+    private static final int DEFAULT_SUMMARY_MEMORY_SHARE = 5;
+
+    /**
+     * Default rendered response cache size.
+     */
+    private static final int DEFAULT_RENDERED_SIZE = 1_000;
+
+    /**
+     * Default rendered response time to live (in seconds).
+     */
+    private static final int DEFAULT_RENDERED_TTL_SECONDS = 60;
+
+    /**
+     * Default maximum page size for list endpoints.
+     */
+    private static final int DEFAULT_MAX_PAGE_SIZE = 1_000;
+
+    /**
+     * Default replica connection pool size.
+     */
+    private static final int DEFAULT_REPLICA_POOL_SIZE = 10;
+
+    /**
+     * Default replication lag, in seconds, above which reads go to the primary.
+     */
+    private static final int DEFAULT_REPLICA_MAX_LAG_SECONDS = 5;
+
+    /**
+     * Default time between replica lag checks.
+     */
+    private static final int DEFAULT_REPLICA_LAG_CHECK_SECONDS = 5;
+
+    /**
+     * Default second-level cache region size.
+     */
+    private static final int DEFAULT_REGION_SIZE = 10_000;
+
+    /**
+     * Default estimated size (in bytes) of a second-level cache entry.
+     */
+    private static final int DEFAULT_REGION_ENTRY_BYTES = 1024;
+
+    /**
+     * Default share (percentage) of the cache memory budget given to the second-level cache.
+     */
+    private static final int DEFAULT_SECOND_LEVEL_CACHE_MEMORY_SHARE = 20;
+
     /**
      * Read Timeout.
      */
@@ -37,4 +174,515 @@ public class ApplicationProperties {
      * Connect Timeout.
      */
     private int connectTimeout;
+
+    /**
+     * Hazelcast settings.
+     */
+    private HazelcastProperties hazelcast = new HazelcastProperties();
+
+    /**
+     * User application URL for looking up a user by username, with a {userName} placeholder. Users can't be resolved
+     * while it is unset.
+     */
+    private String userUrl;
+
+    /**
+     * User lookup cache settings.
+     */
+    private UserCacheProperties userCache = new UserCacheProperties();
+
+    /**
+     * Cache warm-up settings.
+     */
+    private WarmUpProperties warmUp = new WarmUpProperties();
+
+    /**
+     * List endpoint pagination settings.
+     */
+    private PaginationProperties pagination = new PaginationProperties();
+
+    /**
+     * Read replica settings.
+     */
+    private ReplicaProperties replica = new ReplicaProperties();
+
+    /**
+     * Replica Properties.
+     */
+    @Getter
+    @Setter
+    public static class ReplicaProperties {
+
+        /**
+         * Send read-only transactions to the replica.
+         */
+        private boolean enabled;
+
+        /**
+         * Replica JDBC URL.
+         */
+        private String url;
+
+        /**
+         * Replica username.
+         */
+        private String username;
+
+        /**
+         * Replica password.
+         */
+        private String password;
+
+        /**
+         * Replica connection pool size.
+         */
+        private int maximumPoolSize = DEFAULT_REPLICA_POOL_SIZE;
+
+        /**
+         * Replication lag, in seconds, above which reads go to the primary.
+         */
+        private int maxLagSeconds = DEFAULT_REPLICA_MAX_LAG_SECONDS;
+
+        /**
+         * Time between replica lag checks. 0 checks before every read-only transaction.
+         */
+        private int lagCheckIntervalSeconds = DEFAULT_REPLICA_LAG_CHECK_SECONDS;
+
+        /**
+         * Query reporting replication lag, run on the replica.
+         */
+        private String lagQuery = "SHOW REPLICA STATUS";
+
+        /**
+         * Column of the lag query's first row holding the lag in seconds.
+         */
+        private String lagColumn = "Seconds_Behind_Source";
+    }
+
+    /**
+     * Pagination Properties.
+     */
+    @Getter
+    @Setter
+    public static class PaginationProperties {
+
+        /**
+         * Page size used when a request doesn't give a limit.
+         */
+        private int defaultSize = CommonConstants.ONE_HUNDRED;
+
+        /**
+         * Largest page size a request may ask for.
+         */
+        private int maxSize = DEFAULT_MAX_PAGE_SIZE;
+    }
+
+    /**
+     * Warm-Up Properties.
+     */
+    @Getter
+    @Setter
+    public static class WarmUpProperties {
+
+        /**
+         * Preload the caches before the application reports ready.
+         */
+        private boolean enabled;
+
+        /**
+         * Lesson groups to preload.
+         */
+        private List<String> groups = new ArrayList<>();
+
+        /**
+         * Preload presentable lesson plans and their activities.
+         */
+        private boolean presentableLessonPlans = true;
+
+        /**
+         * Number of entries loaded per batch.
+         */
+        private int batchSize = CommonConstants.ONE_HUNDRED;
+
+        /**
+         * Time budget (in seconds); warm-up stops once exceeded.
+         */
+        private int timeBudgetSeconds = DEFAULT_WARM_UP_SECONDS;
+    }
+
+    /**
+     * User Cache Properties.
+     */
+    @Getter
+    @Setter
+    public static class UserCacheProperties {
+
+        /**
+         * Time to live (in seconds).
+         */
+        private int timeToLiveSeconds = DEFAULT_USER_CACHE_TTL_SECONDS;
+
+        /**
+         * Maximum number of cached users.
+         */
+        private int maxSize = DEFAULT_USER_CACHE_SIZE;
+    }
+
+    /**
+     * Hazelcast Properties.
+     */
+    @Getter
+    @Setter
+    public static class HazelcastProperties {
+
+        /**
+         * Cluster name.
+         */
+        private String clusterName = "lessons";
+
+        /**
+         * Connect to an existing cluster as a client instead of starting an embedded member.
+         */
+        private boolean client;
+
+        /**
+         * Member addresses (host:port). Used for TCP/IP join by members and as the address list for clients.
+         */
+        private List<String> members = new ArrayList<>();
+
+        /**
+         * Per-map settings, keyed by map name.
+         */
+        private Map<String, MapProperties> maps = new HashMap<>();
+
+        /**
+         * Maximum number of entries queued for write-behind per member, 0 for no limit. Only applies to maps that
+         * don't coalesce writes; a coalescing queue holds one change per entry, so it is bounded by the map's size.
+         */
+        private int writeBehindQueueCapacity = DEFAULT_WRITE_BEHIND_QUEUE_CAPACITY;
+
+        /**
+         * Memory budget shared by the cached maps.
+         */
+        private MemoryBudgetProperties memoryBudget = new MemoryBudgetProperties();
+
+        /**
+         * Hibernate second-level and query cache, held in this Hazelcast instance.
+         */
+        private SecondLevelCacheProperties secondLevelCache = new SecondLevelCacheProperties();
+
+        /**
+         * Gets the settings for a map, falling back to the defaults when the map is not configured.
+         *
+         * @param name map name
+         * @return MapProperties
+         */
+        public MapProperties getMap(final String name) {
+            return maps.computeIfAbsent(name, key -> new MapProperties());
+        }
+    }
+
+    /**
+     * Second-Level Cache Properties.
+     */
+    @Getter
+    @Setter
+    public static class SecondLevelCacheProperties {
+
+        /**
+         * Cache entities in Hibernate's second-level cache.
+         */
+        private boolean enabled;
+
+        /**
+         * Cache the results of queries marked cacheable.
+         */
+        private boolean queryCache;
+
+        /**
+         * Collect Hibernate and cache statistics.
+         */
+        private boolean statistics;
+
+        /**
+         * Share (percentage) of the cache memory budget the listed regions may use on each member. Region sizes are
+         * scaled down together when their estimated footprint is larger.
+         */
+        private int memoryShare = DEFAULT_SECOND_LEVEL_CACHE_MEMORY_SHARE;
+
+        /**
+         * Per-region settings, keyed by region name. Regions that aren't listed use the JCache defaults. Only applied
+         * by an embedded member; in client mode regions are configured on the cluster members.
+         */
+        private Map<String, RegionProperties> regions = new HashMap<>();
+    }
+
+    /**
+     * Region Properties.
+     */
+    @Getter
+    @Setter
+    public static class RegionProperties {
+
+        /**
+         * Time to live (in seconds), from when an entry is created or updated. 0 keeps entries until evicted.
+         */
+        private int timeToLiveSeconds = CommonConstants.THREE_HUNDRED;
+
+        /**
+         * Max entries per member.
+         */
+        private int maxSize = DEFAULT_REGION_SIZE;
+
+        /**
+         * Estimated size (in bytes) of an entry, used to fit the region into the memory budget.
+         */
+        private int entryBytes = DEFAULT_REGION_ENTRY_BYTES;
+
+        /**
+         * Eviction policy once a region is full.
+         */
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    }
+
+    /**
+     * Map Properties.
+     */
+    @Getter
+    @Setter
+    public static class MapProperties {
+
+        /**
+         * Time to live (in seconds).
+         */
+        private int timeToLiveSeconds = CommonConstants.THREE_HUNDRED;
+
+        /**
+         * Max idle (in seconds).
+         */
+        private int maxIdleSeconds = CommonConstants.THREE_HUNDRED;
+
+        /**
+         * Number of synchronous backups.
+         */
+        private int backupCount = 1;
+
+        /**
+         * Share (percentage) of the cache memory budget this map may use on each member before entries are evicted.
+         * The shares of all maps, their summaries and the second-level cache may add up to at most 100; startup fails
+         * otherwise.
+         */
+        private int memoryShare = DEFAULT_MEMORY_SHARE;
+
+        /**
+         * Share (percentage) of the cache memory budget the map's summaries may use on each member, on top of
+         * memoryShare.
+         */
+        private int summaryMemoryShare = DEFAULT_SUMMARY_MEMORY_SHARE;
+
+        /**
+         * Eviction policy applied once the map reaches its share of the memory budget (LRU, LFU or RANDOM).
+         */
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+        /**
+         * Near cache settings.
+         */
+        private NearCacheProperties nearCache = new NearCacheProperties();
+
+        /**
+         * Write-behind settings (lessons map only).
+         */
+        private WriteBehindProperties writeBehind = new WriteBehindProperties();
+
+        /**
+         * In-process L1 cache settings.
+         */
+        private L1Properties l1 = new L1Properties();
+
+        /**
+         * Negative lookup cache settings.
+         */
+        private NegativeCacheProperties negativeCache = new NegativeCacheProperties();
+
+        /**
+         * Pre-rendered response settings (lessons map only).
+         */
+        private RenderedResponseProperties rendered = new RenderedResponseProperties();
+    }
+
+    /**
+     * Rendered Response Properties.
+     */
+    @Getter
+    @Setter
+    public static class RenderedResponseProperties {
+
+        /**
+         * Cache responses as rendered JSON bytes, skipping serialization on hits.
+         */
+        private boolean enabled;
+
+        /**
+         * Also keep a gzip compressed copy for clients that accept it.
+         */
+        private boolean gzip;
+
+        /**
+         * Maximum number of entries.
+         */
+        private int maxSize = DEFAULT_RENDERED_SIZE;
+
+        /**
+         * Time to live (in seconds). Bounds staleness should an invalidation event be missed.
+         */
+        private int timeToLiveSeconds = DEFAULT_RENDERED_TTL_SECONDS;
+    }
+
+    /**
+     * Memory Budget Properties.
+     */
+    @Getter
+    @Setter
+    public static class MemoryBudgetProperties {
+
+        /**
+         * Container memory limit (in bytes), 0 to use the maximum heap instead. Set from the pod's resource limit.
+         */
+        private long containerLimitBytes;
+
+        /**
+         * Percentage of the container memory limit given to the cached maps.
+         */
+        private int percentage = DEFAULT_CACHE_MEMORY_PERCENTAGE;
+
+        /**
+         * Upper bound on the budget, as a percentage of the maximum heap, since map entries are held on heap.
+         */
+        private int maxHeapPercentage = DEFAULT_MAX_HEAP_PERCENTAGE;
+    }
+
+    /**
+     * Negative Cache Properties.
+     */
+    @Getter
+    @Setter
+    public static class NegativeCacheProperties {
+
+        /**
+         * Reject unknown keys without a database round trip.
+         */
+        private boolean enabled;
+
+        /**
+         * Time to live (in seconds) of a remembered miss.
+         */
+        private int timeToLiveSeconds = DEFAULT_NEGATIVE_CACHE_TTL_SECONDS;
+
+        /**
+         * Maximum number of remembered misses.
+         */
+        private int maxSize = DEFAULT_NEGATIVE_CACHE_SIZE;
+
+        /**
+         * Number of keys the Bloom filter of existing keys is sized for.
+         */
+        private int expectedKeys = DEFAULT_EXPECTED_KEYS;
+
+        /**
+         * Bloom filter false positive probability.
+         */
+        private double falsePositiveProbability = DEFAULT_FALSE_POSITIVE_PROBABILITY;
+    }
+
+    /**
+     * L1 Cache Properties.
+     */
+    @Getter
+    @Setter
+    public static class L1Properties {
+
+        /**
+         * Keep ready-to-serve objects in process in front of the Hazelcast map.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of entries.
+         */
+        private int maxSize = DEFAULT_L1_SIZE;
+
+        /**
+         * Time to live (in seconds). Bounds staleness should an invalidation event be missed.
+         */
+        private int timeToLiveSeconds = DEFAULT_L1_TTL_SECONDS;
+    }
+
+    /**
+     * Write-Behind Properties.
+     */
+    @Getter
+    @Setter
+    public static class WriteBehindProperties {
+
+        /**
+         * Update the cache immediately and persist changes asynchronously.
+         */
+        private boolean enabled;
+
+        /**
+         * Delay (in seconds) before queued changes are written to the database.
+         */
+        private int writeDelaySeconds = DEFAULT_WRITE_DELAY_SECONDS;
+
+        /**
+         * Maximum number of changes written in a single batch.
+         */
+        private int writeBatchSize = DEFAULT_WRITE_BATCH_SIZE;
+
+        /**
+         * Only keep the latest queued change for each entry. Saves database writes for entries that change often, but
+         * the queue is then bounded by the map's size instead of the write-behind queue capacity. Off by default, so
+         * every change is written and the capacity applies.
+         */
+        private boolean writeCoalescing;
+    }
+
+    /**
+     * Near Cache Properties.
+     */
+    @Getter
+    @Setter
+    public static class NearCacheProperties {
+
+        /**
+         * Enable a near cache in front of the map.
+         */
+        private boolean enabled;
+
+        /**
+         * Maximum number of entries held in the near cache.
+         */
+        private int maxSize = DEFAULT_NEAR_CACHE_SIZE;
+
+        /**
+         * Eviction policy (LRU, LFU, RANDOM or NONE).
+         */
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+        /**
+         * Invalidate near cached entries when the map entry changes.
+         */
+        private boolean invalidateOnChange = true;
+
+        /**
+         * Time to live (in seconds), 0 for no limit.
+         */
+        private int timeToLiveSeconds;
+
+        /**
+         * Max idle (in seconds), 0 for no limit.
+         */
+        private int maxIdleSeconds;
+    }
 }
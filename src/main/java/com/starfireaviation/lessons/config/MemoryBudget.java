@@ -0,0 +1,115 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.config;
+
+import com.starfireaviation.common.CommonConstants;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+
+/**
+ * Memory available to the cached maps on this member, derived from the container's memory limit at startup.
+ */
+@Slf4j
+public final class MemoryBudget {
+
+    /**
+     * Bytes per megabyte.
+     */
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    /**
+     * Budget (in bytes).
+     */
+    private final long bytes;
+
+    /**
+     * MemoryBudget.
+     *
+     * @param budgetBytes budget (in bytes)
+     */
+    private MemoryBudget(final long budgetBytes) {
+        bytes = budgetBytes;
+    }
+
+    /**
+     * Computes the budget as a percentage of the container memory limit, capped at a percentage of the maximum heap.
+     *
+     * @param mbProps MemoryBudgetProperties
+     * @param maxHeapBytes maximum heap (in bytes)
+     * @return MemoryBudget
+     */
+    public static MemoryBudget of(final ApplicationProperties.MemoryBudgetProperties mbProps,
+                                  final long maxHeapBytes) {
+        long limitBytes = mbProps.getContainerLimitBytes();
+        if (limitBytes <= 0) {
+            log.info("No container memory limit configured, sizing caches from the maximum heap");
+            limitBytes = maxHeapBytes;
+        }
+        final long heapCapBytes = maxHeapBytes * mbProps.getMaxHeapPercentage() / CommonConstants.ONE_HUNDRED;
+        final long budgetBytes = Math.min(limitBytes * mbProps.getPercentage() / CommonConstants.ONE_HUNDRED,
+                heapCapBytes);
+        log.info("Cache memory budget is {} MB (container limit {} MB, max heap {} MB)",
+                budgetBytes / BYTES_PER_MB, limitBytes / BYTES_PER_MB, maxHeapBytes / BYTES_PER_MB);
+        return new MemoryBudget(budgetBytes);
+    }
+
+    /**
+     * Checks that the shares handed out don't add up to more than the whole budget, which would let the caches
+     * together outgrow it.
+     *
+     * @param shares share (percentage) of the budget, keyed by what it is given to
+     * @throws IllegalStateException when the shares add up to more than 100
+     */
+    public static void checkShares(final Map<String, Integer> shares) {
+        final int total = shares.values().stream().mapToInt(Integer::intValue).sum();
+        if (total > CommonConstants.ONE_HUNDRED) {
+            throw new IllegalStateException(String.format(
+                    "Cache memory shares add up to %d%% of the memory budget, more than 100%%: %s", total, shares));
+        }
+        log.info("Cache memory shares use {}% of the memory budget: {}", total, shares);
+    }
+
+    /**
+     * Megabytes a map may use for the given share of the budget. Never less than 1, Hazelcast's minimum.
+     *
+     * @param sharePercentage share (percentage) of the budget
+     * @return megabytes
+     */
+    public int megabytesFor(final int sharePercentage) {
+        return (int) Math.max(1, bytesFor(sharePercentage) / BYTES_PER_MB);
+    }
+
+    /**
+     * Bytes available for the given share of the budget.
+     *
+     * @param sharePercentage share (percentage) of the budget
+     * @return bytes
+     */
+    public long bytesFor(final int sharePercentage) {
+        return bytes * sharePercentage / CommonConstants.ONE_HUNDRED;
+    }
+
+    /**
+     * Budget (in bytes).
+     *
+     * @return bytes
+     */
+    public long getBytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Read replica configuration. When enabled, the application DataSource routes read-only transactions to a replica
+ * pool and everything else to the primary pool configured by spring.datasource. Reads fall back to the primary
+ * while the replica is unreachable or lagging.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "lessons.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Primary connection pool, built from spring.datasource.
+     *
+     * @param dsProps DataSourceProperties
+     * @return HikariDataSource
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(final DataSourceProperties dsProps) {
+        final HikariDataSource dataSource = dsProps.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Replica connection pool. Connections are opened on first use, so an unavailable replica doesn't stop startup.
+     *
+     * @param dsProps DataSourceProperties
+     * @param props ApplicationProperties
+     * @return HikariDataSource
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(final DataSourceProperties dsProps, final ApplicationProperties props) {
+        final ApplicationProperties.ReplicaProperties replicaProps = props.getReplica();
+        final HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setDriverClassName(dsProps.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaProps.getUrl());
+        dataSource.setUsername(replicaProps.getUsername());
+        dataSource.setPassword(replicaProps.getPassword());
+        dataSource.setMaximumPoolSize(replicaProps.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        log.info("Routing read-only transactions to replica [{}]", replicaProps.getUrl());
+        return dataSource;
+    }
+
+    /**
+     * Application DataSource, routing between the primary and replica pools.
+     *
+     * @param primary primary DataSource
+     * @param replica replica DataSource
+     * @param props ApplicationProperties
+     * @return DataSource
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") final DataSource primary,
+                                 @Qualifier("replicaDataSource") final DataSource replica,
+                                 final ApplicationProperties props) {
+        return ReplicaRoutingDataSource.lazy(primary, replica, new ReplicaLagMonitor(replica, props.getReplica()));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tracks whether a read replica is current enough to serve reads. The replica's lag is checked at most once per check
+ * interval, by whichever thread gets there first; other threads use the last result rather than waiting on it. A
+ * replica that can't be reached, doesn't report its lag or is too far behind isn't usable.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * JdbcTemplate on the replica.
+     */
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * ReplicaProperties.
+     */
+    private final ApplicationProperties.ReplicaProperties props;
+
+    /**
+     * Set while a thread is checking the lag.
+     */
+    private final AtomicBoolean checking = new AtomicBoolean();
+
+    /**
+     * Result of the last check.
+     */
+    private volatile boolean usable;
+
+    /**
+     * System.nanoTime() after which the lag is checked again.
+     */
+    private volatile long nextCheckNanos;
+
+    /**
+     * ReplicaLagMonitor.
+     *
+     * @param replica replica DataSource
+     * @param replicaProps ReplicaProperties
+     */
+    public ReplicaLagMonitor(final DataSource replica, final ApplicationProperties.ReplicaProperties replicaProps) {
+        jdbcTemplate = new JdbcTemplate(replica);
+        props = replicaProps;
+        nextCheckNanos = System.nanoTime();
+    }
+
+    /**
+     * Whether reads may go to the replica, checking its lag when the last check is out of date.
+     *
+     * @return true when the replica is usable
+     */
+    public boolean isUsable() {
+        final long now = System.nanoTime();
+        if (now - nextCheckNanos >= 0 && checking.compareAndSet(false, true)) {
+            try {
+                final boolean nowUsable = check();
+                if (nowUsable && !usable) {
+                    log.info("Read replica is usable");
+                } else if (!nowUsable && usable) {
+                    log.warn("Read replica is not usable; reading from primary");
+                }
+                usable = nowUsable;
+                nextCheckNanos = now + TimeUnit.SECONDS.toNanos(props.getLagCheckIntervalSeconds());
+            } finally {
+                checking.set(false);
+            }
+        }
+        return usable;
+    }
+
+    /**
+     * Checks the replica's lag against the maximum.
+     *
+     * @return true when the replica is within the maximum lag
+     */
+    private boolean check() {
+        try {
+            final Long lag = jdbcTemplate.query(props.getLagQuery(), rs -> {
+                if (!rs.next()) {
+                    return null;
+                }
+                final long seconds = rs.getLong(props.getLagColumn());
+                if (rs.wasNull()) {
+                    return null;
+                }
+                return seconds;
+            });
+            if (lag == null) {
+                log.debug("Read replica isn't reporting replication lag");
+                return false;
+            }
+            if (lag > props.getMaxLagSeconds()) {
+                log.debug("Read replica is {}s behind", lag);
+                return false;
+            }
+            return true;
+        } catch (DataAccessException dae) {
+            log.debug("Unable to check read replica lag: {}", dae.getMessage());
+            return false;
+        }
+    }
+}
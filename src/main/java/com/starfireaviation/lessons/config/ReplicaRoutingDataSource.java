@@ -0,0 +1,116 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.config;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends read-only transactions to a read replica while it is usable, and everything else to the primary. Reads that
+ * fill the caches run through {@link #onPrimary(Supplier)}, so they can't cache rows the replica hasn't caught up
+ * with even though repository reads open read-only transactions of their own.
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * Primary lookup key.
+     */
+    static final String PRIMARY = "primary";
+
+    /**
+     * Replica lookup key.
+     */
+    static final String REPLICA = "replica";
+
+    /**
+     * Set while the current thread's reads must go to the primary.
+     */
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    /**
+     * ReplicaLagMonitor.
+     */
+    private final ReplicaLagMonitor lagMonitor;
+
+    /**
+     * ReplicaRoutingDataSource.
+     *
+     * @param primary primary DataSource
+     * @param replica replica DataSource
+     * @param monitor ReplicaLagMonitor for the replica
+     */
+    public ReplicaRoutingDataSource(final DataSource primary, final DataSource replica,
+                                    final ReplicaLagMonitor monitor) {
+        lagMonitor = monitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Wraps a ReplicaRoutingDataSource so connections are fetched on first use. Transaction managers get a
+     * connection before the transaction's read-only flag is published, so routing has to wait until then.
+     *
+     * @param primary primary DataSource
+     * @param replica replica DataSource
+     * @param monitor ReplicaLagMonitor for the replica
+     * @return DataSource
+     */
+    public static DataSource lazy(final DataSource primary, final DataSource replica,
+                                  final ReplicaLagMonitor monitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, monitor));
+    }
+
+    /**
+     * Runs work whose reads must see the latest writes, e.g. loads into a cache, on the primary even where it opens
+     * read-only transactions. Only connections fetched while the work runs are affected, so it must not join a
+     * transaction that is already reading from the replica.
+     *
+     * @param work work to run
+     * @param <T> result type
+     * @return result of the work
+     */
+    public static <T> T onPrimary(final Supplier<T> work) {
+        final Boolean previous = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_ONLY.set(previous);
+        }
+    }
+
+    /**
+     * Picks the replica for read-only transactions when it is usable and the primary hasn't been asked for,
+     * otherwise the primary.
+     *
+     * @return lookup key
+     */
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !PRIMARY_ONLY.get()
+                && lagMonitor.isUsable()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
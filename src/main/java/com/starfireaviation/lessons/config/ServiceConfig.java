@@ -17,11 +17,45 @@
 package com.starfireaviation.lessons.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.cache.HazelcastCachingProvider;
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.CacheSimpleConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig.DurationConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig.TimedExpiryPolicyFactoryConfig;
+import com.hazelcast.config.CacheSimpleConfig.ExpiryPolicyFactoryConfig.TimedExpiryPolicyFactoryConfig.ExpiryPolicyType;
 import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.config.JoinConfig;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.SerializationConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.MapLoader;
 import com.starfireaviation.common.CommonConstants;
+import com.starfireaviation.common.model.Activity;
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.cache.ActivityCompactSerializer;
+import com.starfireaviation.lessons.cache.ActivityMapLoader;
+import com.starfireaviation.lessons.cache.CacheMonitor;
+import com.starfireaviation.lessons.cache.CacheWarmer;
+import com.starfireaviation.lessons.cache.LessonCompactSerializer;
+import com.starfireaviation.lessons.cache.LessonMapLoader;
+import com.starfireaviation.lessons.cache.LessonMapStore;
+import com.starfireaviation.lessons.cache.LessonPlanCompactSerializer;
+import com.starfireaviation.lessons.cache.LessonPlanMapLoader;
+import com.starfireaviation.lessons.cache.RenderedResponseCache;
+import com.starfireaviation.lessons.cache.TwoTierCache;
+import com.starfireaviation.lessons.cache.WriteBehindFlusher;
+import com.starfireaviation.lessons.model.ActivityRepository;
 import com.starfireaviation.lessons.model.LessonPlanActivityRepository;
 import com.starfireaviation.lessons.model.LessonPlanLessonRepository;
 import com.starfireaviation.lessons.model.LessonPlanRepository;
@@ -30,16 +64,31 @@ import com.starfireaviation.lessons.service.DataService;
 import com.starfireaviation.lessons.service.LessonPlanService;
 import com.starfireaviation.lessons.service.LessonService;
 import com.starfireaviation.lessons.validation.LessonValidator;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
+import javax.cache.CacheManager;
+import javax.cache.Caching;
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * ServiceConfig.
@@ -49,15 +98,67 @@ import java.time.Duration;
 @EnableConfigurationProperties({ ApplicationProperties.class })
 public class ServiceConfig {
 
+    /**
+     * Lessons map name.
+     */
+    public static final String LESSONS_MAP = "lessons";
+
+    /**
+     * Lesson groups map name. Holds the number of lessons in each group whose lessons are fully cached.
+     */
+    public static final String LESSON_GROUPS_MAP = "lessongroups";
+
+    /**
+     * Lesson summaries map name. Holds the table of contents for each group.
+     */
+    public static final String LESSON_SUMMARIES_MAP = "lessonsummaries";
+
+    /**
+     * Lesson summary versions map name. Holds a version for each group, bumped when its summaries are evicted.
+     */
+    public static final String LESSON_SUMMARY_VERSIONS_MAP = "lessonsummaryversions";
+
+    /**
+     * LessonPlans map name.
+     */
+    public static final String LESSON_PLANS_MAP = "lessonplans";
+
+    /**
+     * LessonPlan summaries map name.
+     */
+    public static final String LESSON_PLAN_SUMMARIES_MAP = "lessonplansummaries";
+
+    /**
+     * LessonPlan summary versions map name. Holds a version for each lesson plan, bumped when its summary is evicted.
+     */
+    public static final String LESSON_PLAN_SUMMARY_VERSIONS_MAP = "lessonplansummaryversions";
+
+    /**
+     * Activities map name.
+     */
+    public static final String ACTIVITIES_MAP = "activities";
+
+    /**
+     * JCache provider for an embedded Hazelcast member.
+     */
+    private static final String MEMBER_CACHING_PROVIDER = "com.hazelcast.cache.HazelcastMemberCachingProvider";
+
+    /**
+     * JCache provider for a Hazelcast client.
+     */
+    private static final String CLIENT_CACHING_PROVIDER = "com.hazelcast.client.cache.HazelcastClientCachingProvider";
+
     /**
      * LessonService.
      *
      * @param lRepository LessonRepository
+     * @param lplRepository LessonPlanLessonRepository
      * @return LessonService
      */
     @Bean
-    public LessonService lessonService(final LessonRepository lRepository) {
-        return new LessonService(lRepository);
+    public LessonService lessonService(final LessonRepository lRepository,
+                                       final LessonPlanLessonRepository lplRepository) {
+        return new LessonService(lRepository, lplRepository);
     }
 
     /**
@@ -75,14 +176,65 @@ public class ServiceConfig {
         return new LessonPlanService(lpRepository, lpaRepository, lplRepository);
     }
 
+    /**
+     * LessonMapLoader. A write-behind LessonMapStore is used when enabled for the lessons map. Loaders get lazy
+     * repositories, so the Hazelcast instance can be created before the EntityManagerFactory that caches into it.
+     *
+     * @param lRepository LessonRepository
+     * @param lService LessonService
+     * @param props ApplicationProperties
+     * @param meterRegistry MeterRegistry
+     * @return LessonMapLoader
+     */
+    @Bean
+    public LessonMapLoader lessonMapLoader(@Lazy final LessonRepository lRepository,
+                                           @Lazy final LessonService lService,
+                                           final ApplicationProperties props,
+                                           final MeterRegistry meterRegistry) {
+        if (props.getHazelcast().getMap(LESSONS_MAP).getWriteBehind().isEnabled()) {
+            return new LessonMapStore(lRepository, lService, meterRegistry);
+        }
+        return new LessonMapLoader(lRepository, meterRegistry);
+    }
+
+    /**
+     * LessonPlanMapLoader.
+     *
+     * @param lpRepository LessonPlanRepository
+     * @param lpService LessonPlanService
+     * @param meterRegistry MeterRegistry
+     * @return LessonPlanMapLoader
+     */
+    @Bean
+    public LessonPlanMapLoader lessonPlanMapLoader(@Lazy final LessonPlanRepository lpRepository,
+                                                   @Lazy final LessonPlanService lpService,
+                                                   final MeterRegistry meterRegistry) {
+        return new LessonPlanMapLoader(lpRepository, lpService, meterRegistry);
+    }
+
+    /**
+     * ActivityMapLoader.
+     *
+     * @param aRepository ActivityRepository
+     * @param meterRegistry MeterRegistry
+     * @return ActivityMapLoader
+     */
+    @Bean
+    public ActivityMapLoader activityMapLoader(@Lazy final ActivityRepository aRepository,
+                                               final MeterRegistry meterRegistry) {
+        return new ActivityMapLoader(aRepository, meterRegistry);
+    }
+
     /**
      * DataService.
      *
+     * @param props ApplicationProperties
+     * @param restTemplate RestTemplate
      * @return DataService
      */
     @Bean
-    public DataService dataService() {
-        return new DataService();
+    public DataService dataService(final ApplicationProperties props, final RestTemplate restTemplate) {
+        return new DataService(restTemplate, props.getUserUrl(), props.getUserCache());
     }
 
     /**
@@ -127,45 +279,460 @@ public class ServiceConfig {
     }
 
     /**
-     * Hazelcast Questions Instance.
+     * Hazelcast Instance. A single member (or client) hosts the lessons, lessonplans and activities maps; the map
+     * names are registered as aliases so existing qualified injection points keep resolving to this instance.
+     *
+     * Map loaders, map settings and second-level cache region settings only apply to an embedded member; in client
+     * mode the cluster members are expected to provide them.
      *
+     * @param props ApplicationProperties
+     * @param lessonMapLoader LessonMapLoader
+     * @param lessonPlanMapLoader LessonPlanMapLoader
+     * @param activityMapLoader ActivityMapLoader
      * @return HazelcastInstance
      */
-    @Bean("lessons")
-    public HazelcastInstance hazelcastLessonsInstance() {
-        return Hazelcast.newHazelcastInstance(
-                new Config().addMapConfig(
-                        new MapConfig("lessons")
-                                .setTimeToLiveSeconds(CommonConstants.THREE_HUNDRED)
-                                .setMaxIdleSeconds(CommonConstants.THREE_HUNDRED)));
+    @Bean({ "hazelcastInstance", LESSONS_MAP, LESSON_PLANS_MAP, ACTIVITIES_MAP })
+    public HazelcastInstance hazelcastInstance(final ApplicationProperties props,
+                                               final LessonMapLoader lessonMapLoader,
+                                               final LessonPlanMapLoader lessonPlanMapLoader,
+                                               final ActivityMapLoader activityMapLoader) {
+        final ApplicationProperties.HazelcastProperties hazelcastProps = props.getHazelcast();
+        if (hazelcastProps.isClient()) {
+            final ClientConfig clientConfig = new ClientConfig();
+            clientConfig.setClusterName(hazelcastProps.getClusterName());
+            addCompactSerializers(clientConfig.getSerializationConfig());
+            clientConfig.getNetworkConfig().setAddresses(hazelcastProps.getMembers());
+            addNearCacheConfig(clientConfig, LESSONS_MAP, hazelcastProps.getMap(LESSONS_MAP));
+            addNearCacheConfig(clientConfig, LESSON_PLANS_MAP, hazelcastProps.getMap(LESSON_PLANS_MAP));
+            addNearCacheConfig(clientConfig, ACTIVITIES_MAP, hazelcastProps.getMap(ACTIVITIES_MAP));
+            log.info("Connecting to Hazelcast cluster [{}] as a client; map and cache region settings are left to "
+                    + "its members", hazelcastProps.getClusterName());
+            return HazelcastClient.newHazelcastClient(clientConfig);
+        }
+        final Config config = new Config();
+        config.setClusterName(hazelcastProps.getClusterName());
+        addCompactSerializers(config.getSerializationConfig());
+        // Spring shuts the member down once dependent beans, such as the write-behind flusher, are destroyed
+        config.setProperty("hazelcast.shutdownhook.enabled", "false");
+        if (hazelcastProps.getWriteBehindQueueCapacity() > 0) {
+            config.setProperty("hazelcast.map.write.behind.queue.capacity",
+                    String.valueOf(hazelcastProps.getWriteBehindQueueCapacity()));
+        }
+        if (!hazelcastProps.getMembers().isEmpty()) {
+            final JoinConfig joinConfig = config.getNetworkConfig().getJoin();
+            joinConfig.getMulticastConfig().setEnabled(false);
+            joinConfig.getTcpIpConfig().setEnabled(true).setMembers(hazelcastProps.getMembers());
+        }
+        final ApplicationProperties.SecondLevelCacheProperties cacheProps = hazelcastProps.getSecondLevelCache();
+        final Map<String, Integer> shares = new LinkedHashMap<>();
+        shares.put(LESSONS_MAP, hazelcastProps.getMap(LESSONS_MAP).getMemoryShare());
+        shares.put(LESSON_SUMMARIES_MAP, hazelcastProps.getMap(LESSONS_MAP).getSummaryMemoryShare());
+        shares.put(LESSON_PLANS_MAP, hazelcastProps.getMap(LESSON_PLANS_MAP).getMemoryShare());
+        shares.put(LESSON_PLAN_SUMMARIES_MAP, hazelcastProps.getMap(LESSON_PLANS_MAP).getSummaryMemoryShare());
+        shares.put(ACTIVITIES_MAP, hazelcastProps.getMap(ACTIVITIES_MAP).getMemoryShare());
+        if (cacheProps.isEnabled()) {
+            shares.put("second-level-cache", cacheProps.getMemoryShare());
+        }
+        MemoryBudget.checkShares(shares);
+        final MemoryBudget memoryBudget = MemoryBudget.of(hazelcastProps.getMemoryBudget(),
+                Runtime.getRuntime().maxMemory());
+        // Group listings filter on group and sort by chapter in Java, since IMap.values doesn't return results in
+        // order. Nothing queries a chapter range, so a sorted chapter index would only cost memory and write time.
+        config.addMapConfig(mapConfig(LESSONS_MAP, hazelcastProps.getMap(LESSONS_MAP),
+                lessonMapLoader, memoryBudget, hazelcastProps.getWriteBehindQueueCapacity())
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "group")));
+        config.addMapConfig(new MapConfig(LESSON_GROUPS_MAP)
+                .setTimeToLiveSeconds(hazelcastProps.getMap(LESSONS_MAP).getTimeToLiveSeconds()));
+        config.addMapConfig(summaryMapConfig(LESSON_SUMMARIES_MAP, hazelcastProps.getMap(LESSONS_MAP), memoryBudget));
+        config.addMapConfig(mapConfig(LESSON_PLANS_MAP, hazelcastProps.getMap(LESSON_PLANS_MAP),
+                lessonPlanMapLoader, memoryBudget, hazelcastProps.getWriteBehindQueueCapacity()));
+        config.addMapConfig(summaryMapConfig(LESSON_PLAN_SUMMARIES_MAP, hazelcastProps.getMap(LESSON_PLANS_MAP),
+                memoryBudget));
+        config.addMapConfig(mapConfig(ACTIVITIES_MAP, hazelcastProps.getMap(ACTIVITIES_MAP),
+                activityMapLoader, memoryBudget, hazelcastProps.getWriteBehindQueueCapacity()));
+        if (cacheProps.isEnabled()) {
+            regionSizes(cacheProps, memoryBudget).forEach((region, size) -> config.addCacheConfig(
+                    cacheConfig(region, cacheProps.getRegions().get(region), size, cacheProps.isStatistics())));
+        }
+        log.info("Starting Hazelcast member for cluster [{}]", hazelcastProps.getClusterName());
+        return Hazelcast.newHazelcastInstance(config);
     }
 
     /**
-     * Hazelcast LessonPlans Instance.
+     * Hands the Hazelcast instance to Hibernate, through JCache, as its second-level and query cache.
      *
-     * @return HazelcastInstance
+     * @param hzInstance HazelcastInstance
+     * @param props ApplicationProperties
+     * @return HibernatePropertiesCustomizer
      */
-    @Bean("lessonplans")
-    public HazelcastInstance hazelcastLessonPlansInstance() {
-        return Hazelcast.newHazelcastInstance(
-                new Config().addMapConfig(
-                        new MapConfig("lessonplans")
-                                .setTimeToLiveSeconds(CommonConstants.THREE_HUNDRED)
-                                .setMaxIdleSeconds(CommonConstants.THREE_HUNDRED)));
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Qualifier("lessons") final HazelcastInstance hzInstance,
+            final ApplicationProperties props) {
+        final ApplicationProperties.SecondLevelCacheProperties cacheProps = props.getHazelcast().getSecondLevelCache();
+        final boolean client = props.getHazelcast().isClient();
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheProps.isEnabled());
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE,
+                    cacheProps.isEnabled() && cacheProps.isQueryCache());
+            if (cacheProps.isStatistics()) {
+                hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+            if (cacheProps.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jCacheManager(hzInstance, client));
+                // Regions without settings of their own are created with the JCache defaults
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            }
+        };
     }
 
     /**
-     * Hazelcast LessonPlans Instance.
+     * Lesson cache.
      *
-     * @return HazelcastInstance
+     * @param props ApplicationProperties
+     * @param hzInstance HazelcastInstance
+     * @param meterRegistry MeterRegistry
+     * @return TwoTierCache
+     */
+    @Bean
+    public TwoTierCache<Lesson> lessonCache(final ApplicationProperties props,
+                                            @Qualifier(LESSONS_MAP) final HazelcastInstance hzInstance,
+                                            final MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(hzInstance.getMap(LESSONS_MAP),
+                props.getHazelcast().getMap(LESSONS_MAP).getL1(),
+                props.getHazelcast().getMap(LESSONS_MAP).getNegativeCache(), meterRegistry);
+    }
+
+    /**
+     * LessonPlan cache.
+     *
+     * @param props ApplicationProperties
+     * @param hzInstance HazelcastInstance
+     * @param meterRegistry MeterRegistry
+     * @return TwoTierCache
+     */
+    @Bean
+    public TwoTierCache<LessonPlan> lessonPlanCache(final ApplicationProperties props,
+                                                    @Qualifier(LESSON_PLANS_MAP) final HazelcastInstance hzInstance,
+                                                    final MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(hzInstance.getMap(LESSON_PLANS_MAP),
+                props.getHazelcast().getMap(LESSON_PLANS_MAP).getL1(),
+                props.getHazelcast().getMap(LESSON_PLANS_MAP).getNegativeCache(), meterRegistry);
+    }
+
+    /**
+     * Activity cache.
+     *
+     * @param props ApplicationProperties
+     * @param hzInstance HazelcastInstance
+     * @param meterRegistry MeterRegistry
+     * @return TwoTierCache
+     */
+    @Bean
+    public TwoTierCache<Activity> activityCache(final ApplicationProperties props,
+                                                @Qualifier(ACTIVITIES_MAP) final HazelcastInstance hzInstance,
+                                                final MeterRegistry meterRegistry) {
+        return new TwoTierCache<>(hzInstance.getMap(ACTIVITIES_MAP),
+                props.getHazelcast().getMap(ACTIVITIES_MAP).getL1(),
+                props.getHazelcast().getMap(ACTIVITIES_MAP).getNegativeCache(), meterRegistry);
+    }
+
+    /**
+     * Pre-rendered Lesson responses.
+     *
+     * @param props ApplicationProperties
+     * @param hzInstance HazelcastInstance
+     * @param mapper ObjectMapper
+     * @param meterRegistry MeterRegistry
+     * @return RenderedResponseCache
+     */
+    @Bean
+    public RenderedResponseCache<Lesson> lessonResponseCache(
+            final ApplicationProperties props,
+            @Qualifier(LESSONS_MAP) final HazelcastInstance hzInstance,
+            final ObjectMapper mapper,
+            final MeterRegistry meterRegistry) {
+        return new RenderedResponseCache<>(hzInstance.getMap(LESSONS_MAP),
+                props.getHazelcast().getMap(LESSONS_MAP).getRendered(), mapper, meterRegistry);
+    }
+
+    /**
+     * Builds the filters of existing lesson and activity IDs at startup, before the application reports ready.
+     *
+     * @param lessonCache Lesson cache
+     * @param activityCache Activity cache
+     * @param lRepository LessonRepository
+     * @param aRepository ActivityRepository
+     * @return ApplicationRunner
+     */
+    @Bean
+    public ApplicationRunner knownKeysBuilder(final TwoTierCache<Lesson> lessonCache,
+                                              final TwoTierCache<Activity> activityCache,
+                                              final LessonRepository lRepository,
+                                              final ActivityRepository aRepository) {
+        return args -> {
+            lessonCache.rebuildKnownKeys(() -> ReplicaRoutingDataSource.onPrimary(lRepository::findAllIds));
+            activityCache.rebuildKnownKeys(() -> ReplicaRoutingDataSource.onPrimary(aRepository::findAllIds));
+        };
+    }
+
+    /**
+     * CacheMonitor.
+     *
+     * @param lessonCache Lesson cache
+     * @param lessonPlanCache LessonPlan cache
+     * @param activityCache Activity cache
+     * @param meterRegistry MeterRegistry
+     * @return CacheMonitor
+     */
+    @Bean
+    public CacheMonitor cacheMonitor(final TwoTierCache<Lesson> lessonCache,
+                                     final TwoTierCache<LessonPlan> lessonPlanCache,
+                                     final TwoTierCache<Activity> activityCache,
+                                     final MeterRegistry meterRegistry) {
+        return new CacheMonitor(List.of(lessonCache, lessonPlanCache, activityCache), meterRegistry);
+    }
+
+    /**
+     * CacheWarmer.
+     *
+     * @param props ApplicationProperties
+     * @param lRepository LessonRepository
+     * @param lpRepository LessonPlanRepository
+     * @param hzInstance HazelcastInstance
+     * @return CacheWarmer
+     */
+    @Bean
+    public CacheWarmer cacheWarmer(final ApplicationProperties props,
+                                   final LessonRepository lRepository,
+                                   final LessonPlanRepository lpRepository,
+                                   @Qualifier("hazelcastInstance") final HazelcastInstance hzInstance) {
+        return new CacheWarmer(props.getWarmUp(), lRepository, lpRepository, hzInstance);
+    }
+
+    /**
+     * Flushes pending lesson writes on shutdown when write-behind is enabled for the lessons map.
+     *
+     * @param hzInstance HazelcastInstance
+     * @return WriteBehindFlusher
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "lessons.hazelcast.maps." + LESSONS_MAP + ".write-behind", name = "enabled",
+            havingValue = "true")
+    public WriteBehindFlusher lessonsWriteBehindFlusher(@Qualifier(LESSONS_MAP) final HazelcastInstance hzInstance) {
+        return new WriteBehindFlusher(hzInstance.getMap(LESSONS_MAP));
+    }
+
+    /**
+     * Registers compact serializers for the cached models in place of Java serialization.
+     *
+     * @param serializationConfig SerializationConfig
+     */
+    private static void addCompactSerializers(final SerializationConfig serializationConfig) {
+        serializationConfig.getCompactSerializationConfig()
+                .addSerializer(new LessonCompactSerializer())
+                .addSerializer(new LessonPlanCompactSerializer())
+                .addSerializer(new ActivityCompactSerializer());
+    }
+
+    /**
+     * Builds a MapConfig from the configured map properties.
+     *
+     * @param name map name
+     * @param mapProps MapProperties
+     * @param mapLoader MapLoader
+     * @param memoryBudget MemoryBudget
+     * @param queueCapacity write-behind queue capacity per member, 0 when unbounded
+     * @return MapConfig
+     */
+    private static MapConfig mapConfig(final String name,
+                                       final ApplicationProperties.MapProperties mapProps,
+                                       final MapLoader<Long, ?> mapLoader,
+                                       final MemoryBudget memoryBudget,
+                                       final int queueCapacity) {
+        final MapConfig mapConfig = new MapConfig(name)
+                .setTimeToLiveSeconds(mapProps.getTimeToLiveSeconds())
+                .setMaxIdleSeconds(mapProps.getMaxIdleSeconds())
+                .setBackupCount(mapProps.getBackupCount())
+                .setMapStoreConfig(mapStoreConfig(name, mapLoader, mapProps.getWriteBehind(), queueCapacity));
+        // Bound the heap used by each map, so a bulk load evicts entries rather than exhausting the container
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(mapProps.getEvictionPolicy())
+                .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE)
+                .setSize(memoryBudget.megabytesFor(mapProps.getMemoryShare()));
+        if (mapProps.getNearCache().isEnabled()) {
+            // Members only near cache remotely owned entries unless told to cache local ones too
+            mapConfig.setNearCacheConfig(nearCacheConfig(name, mapProps.getNearCache()).setCacheLocalEntries(true));
+        }
+        return mapConfig;
+    }
+
+    /**
+     * Builds the MapConfig of a map holding summaries derived from another map, expiring with it and bounded by its
+     * own share of the memory budget.
+     *
+     * @param name map name
+     * @param mapProps MapProperties of the map the summaries are derived from
+     * @param memoryBudget MemoryBudget
+     * @return MapConfig
+     */
+    private static MapConfig summaryMapConfig(final String name,
+                                              final ApplicationProperties.MapProperties mapProps,
+                                              final MemoryBudget memoryBudget) {
+        final MapConfig mapConfig = new MapConfig(name)
+                .setTimeToLiveSeconds(mapProps.getTimeToLiveSeconds());
+        mapConfig.getEvictionConfig()
+                .setEvictionPolicy(mapProps.getEvictionPolicy())
+                .setMaxSizePolicy(MaxSizePolicy.USED_HEAP_SIZE)
+                .setSize(memoryBudget.megabytesFor(mapProps.getSummaryMemoryShare()));
+        return mapConfig;
+    }
+
+    /**
+     * Builds a lazily initialized, read-through MapStoreConfig for the given loader. When write-behind is enabled and
+     * the loader is also a MapStore, changes are queued and written in batches after the configured delay. Hazelcast
+     * only applies the queue capacity when write coalescing is off; a coalescing queue is bounded by the map's size.
+     *
+     * @param name map name
+     * @param mapLoader MapLoader
+     * @param writeBehindProps WriteBehindProperties
+     * @param queueCapacity write-behind queue capacity per member, 0 when unbounded
+     * @return MapStoreConfig
+     */
+    private static MapStoreConfig mapStoreConfig(final String name,
+                                                 final MapLoader<Long, ?> mapLoader,
+                                                 final ApplicationProperties.WriteBehindProperties writeBehindProps,
+                                                 final int queueCapacity) {
+        final MapStoreConfig mapStoreConfig = new MapStoreConfig()
+                .setEnabled(true)
+                .setInitialLoadMode(MapStoreConfig.InitialLoadMode.LAZY)
+                .setImplementation(mapLoader);
+        if (writeBehindProps.isEnabled()) {
+            if (writeBehindProps.isWriteCoalescing() && queueCapacity > 0) {
+                log.info("Map [{}] coalesces writes, so its write-behind queue is bounded by the map's size rather "
+                        + "than the queue capacity of {} entries", name, queueCapacity);
+            }
+            mapStoreConfig
+                    .setWriteDelaySeconds(writeBehindProps.getWriteDelaySeconds())
+                    .setWriteBatchSize(writeBehindProps.getWriteBatchSize())
+                    .setWriteCoalescing(writeBehindProps.isWriteCoalescing());
+        }
+        return mapStoreConfig;
+    }
+
+    /**
+     * Entries each second-level cache region may hold. Caches can only be bounded by entry count, so each region's
+     * footprint is estimated from its entry size; when the regions together would exceed the second-level cache's
+     * share of the memory budget, they are all scaled down by the same factor.
+     *
+     * @param cacheProps SecondLevelCacheProperties
+     * @param memoryBudget MemoryBudget
+     * @return max entries, keyed by region name
+     */
+    private static Map<String, Integer> regionSizes(final ApplicationProperties.SecondLevelCacheProperties cacheProps,
+                                                    final MemoryBudget memoryBudget) {
+        final long budgetBytes = memoryBudget.bytesFor(cacheProps.getMemoryShare());
+        final long wantedBytes = cacheProps
+                .getRegions()
+                .values()
+                .stream()
+                .mapToLong(regionProps -> (long) regionProps.getMaxSize() * regionProps.getEntryBytes())
+                .sum();
+        final Map<String, Integer> sizes = new HashMap<>();
+        cacheProps.getRegions().forEach((region, regionProps) -> {
+            long size = regionProps.getMaxSize();
+            if (wantedBytes > budgetBytes) {
+                size = Math.max(1, size * budgetBytes / wantedBytes);
+            }
+            sizes.put(region, (int) size);
+        });
+        if (wantedBytes > budgetBytes) {
+            log.info("Second-level cache regions scaled to {}% of their max size to fit {} MB",
+                    budgetBytes * CommonConstants.ONE_HUNDRED / wantedBytes,
+                    memoryBudget.megabytesFor(cacheProps.getMemoryShare()));
+        }
+        return sizes;
+    }
+
+    /**
+     * Builds the JCache configuration for a second-level cache region.
+     *
+     * @param region region name
+     * @param regionProps RegionProperties
+     * @param size max entries
+     * @param statistics whether to collect cache statistics
+     * @return CacheSimpleConfig
+     */
+    private static CacheSimpleConfig cacheConfig(final String region,
+                                                 final ApplicationProperties.RegionProperties regionProps,
+                                                 final int size,
+                                                 final boolean statistics) {
+        final CacheSimpleConfig cacheConfig = new CacheSimpleConfig()
+                .setName(region)
+                .setStatisticsEnabled(statistics)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(regionProps.getEvictionPolicy())
+                        .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                        .setSize(size));
+        if (regionProps.getTimeToLiveSeconds() > 0) {
+            cacheConfig.setExpiryPolicyFactoryConfig(new ExpiryPolicyFactoryConfig(
+                    new TimedExpiryPolicyFactoryConfig(ExpiryPolicyType.MODIFIED,
+                            new DurationConfig(regionProps.getTimeToLiveSeconds(), TimeUnit.SECONDS))));
+        }
+        return cacheConfig;
+    }
+
+    /**
+     * Gets a JCache CacheManager backed by the given Hazelcast instance, rather than one JCache would start itself.
+     *
+     * @param hzInstance HazelcastInstance
+     * @param client whether the instance is a client
+     * @return CacheManager
+     */
+    private static CacheManager jCacheManager(final HazelcastInstance hzInstance, final boolean client) {
+        String provider = MEMBER_CACHING_PROVIDER;
+        if (client) {
+            provider = CLIENT_CACHING_PROVIDER;
+        }
+        return Caching.getCachingProvider(provider)
+                .getCacheManager(null, null, HazelcastCachingProvider.propertiesByInstanceItself(hzInstance));
+    }
+
+    /**
+     * Adds a client side near cache for the given map when enabled.
+     *
+     * @param clientConfig ClientConfig
+     * @param name map name
+     * @param mapProps MapProperties
+     */
+    private static void addNearCacheConfig(final ClientConfig clientConfig,
+                                           final String name,
+                                           final ApplicationProperties.MapProperties mapProps) {
+        if (mapProps.getNearCache().isEnabled()) {
+            clientConfig.addNearCacheConfig(nearCacheConfig(name, mapProps.getNearCache()));
+        }
+    }
+
+    /**
+     * Builds a NearCacheConfig holding deserialized objects. Hit and miss counts are available through the map's
+     * LocalMapStats.getNearCacheStats().
+     *
+     * @param name map name
+     * @param nearCacheProps NearCacheProperties
+     * @return NearCacheConfig
      */
-    @Bean("activities")
-    public HazelcastInstance hazelcastActivitiesInstance() {
-        return Hazelcast.newHazelcastInstance(
-                new Config().addMapConfig(
-                        new MapConfig("activities")
-                                .setTimeToLiveSeconds(CommonConstants.THREE_HUNDRED)
-                                .setMaxIdleSeconds(CommonConstants.THREE_HUNDRED)));
+    private static NearCacheConfig nearCacheConfig(final String name,
+                                                   final ApplicationProperties.NearCacheProperties nearCacheProps) {
+        return new NearCacheConfig(name)
+                .setInMemoryFormat(InMemoryFormat.OBJECT)
+                .setInvalidateOnChange(nearCacheProps.isInvalidateOnChange())
+                .setTimeToLiveSeconds(nearCacheProps.getTimeToLiveSeconds())
+                .setMaxIdleSeconds(nearCacheProps.getMaxIdleSeconds())
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(nearCacheProps.getEvictionPolicy())
+                        .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                        .setSize(nearCacheProps.getMaxSize()));
     }
 
     /**
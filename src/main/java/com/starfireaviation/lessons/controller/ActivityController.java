@@ -16,16 +16,17 @@
 
 package com.starfireaviation.lessons.controller;
 
-import com.hazelcast.core.HazelcastInstance;
-import com.hazelcast.map.IMap;
 import com.starfireaviation.common.exception.AccessDeniedException;
 import com.starfireaviation.common.exception.InvalidPayloadException;
 import com.starfireaviation.common.exception.ResourceNotFoundException;
 import com.starfireaviation.common.model.Activity;
-import com.starfireaviation.lessons.model.ActivityEntity;
+import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.cache.TwoTierCache;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import com.starfireaviation.lessons.mapper.ActivityMapper;
 import com.starfireaviation.lessons.service.ActivityService;
 import com.starfireaviation.lessons.validation.ActivityValidator;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,6 +35,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
@@ -43,7 +45,7 @@ import java.util.stream.Collectors;
 /**
  * ActivityController.
  */
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = Pagination.NEXT_CURSOR_HEADER)
 @RestController
 @RequestMapping({ "/api/activities" })
 public class ActivityController {
@@ -61,21 +63,37 @@ public class ActivityController {
     /**
      * Activity Cache.
      */
-    private final IMap<Long, Activity> cache;
+    private final TwoTierCache<Activity> cache;
+
+    /**
+     * LessonPlan Cache.
+     */
+    private final TwoTierCache<LessonPlan> lessonPlanCache;
+
+    /**
+     * List endpoint page sizes.
+     */
+    private final ApplicationProperties.PaginationProperties pagination;
 
     /**
      * ActivityController.
      *
      * @param aService   ActivityService
      * @param aValidator ActivityValidator
-     * @param hazelcastInstance HazelcastInstance
+     * @param activityCache Activity cache
+     * @param lpCache LessonPlan cache
+     * @param props ApplicationProperties
      */
     public ActivityController(final ActivityService aService,
                               final ActivityValidator aValidator,
-                              @Qualifier("activities") final HazelcastInstance hazelcastInstance) {
+                              final TwoTierCache<Activity> activityCache,
+                              final TwoTierCache<LessonPlan> lpCache,
+                              final ApplicationProperties props) {
         activityService = aService;
         activityValidator = aValidator;
-        cache = hazelcastInstance.getMap("activities");
+        cache = activityCache;
+        lessonPlanCache = lpCache;
+        pagination = props.getPagination();
     }
 
     /**
@@ -95,7 +113,9 @@ public class ActivityController {
             ResourceNotFoundException, AccessDeniedException {
         activityValidator.validate(activity);
         activityValidator.accessAdminOrInstructor(principal);
-        return map(activityService.store(map(activity)));
+        final Activity newActivity = ActivityMapper.map(activityService.store(ActivityMapper.map(activity)));
+        cache.set(newActivity.getId(), newActivity);
+        return newActivity;
     }
 
     /**
@@ -112,11 +132,10 @@ public class ActivityController {
     public Activity get(@PathVariable("activityId") final Long activityId, final Principal principal)
             throws ResourceNotFoundException, AccessDeniedException {
         activityValidator.accessAdminOrInstructor(principal);
-        if (cache.containsKey(activityId)) {
-            return cache.get(activityId);
+        final Activity activity = cache.get(activityId);
+        if (activity == null) {
+            throw new ResourceNotFoundException(String.format("No activity found for ID [%s]", activityId));
         }
-        final Activity activity = map(activityService.get(activityId));
-        cache.put(activityId, activity);
         return activity;
     }
 
@@ -136,8 +155,8 @@ public class ActivityController {
             throws InvalidPayloadException, ResourceNotFoundException, AccessDeniedException {
         activityValidator.validate(activity);
         activityValidator.accessAdminOrInstructor(principal);
-        final Activity updatedActivity = map(activityService.store(map(activity)));
-        cache.put(updatedActivity.getId(), updatedActivity);
+        final Activity updatedActivity = ActivityMapper.map(activityService.store(ActivityMapper.map(activity)));
+        cache.set(updatedActivity.getId(), updatedActivity);
         return updatedActivity;
     }
 
@@ -154,13 +173,15 @@ public class ActivityController {
     public void delete(@PathVariable("activityId") final Long activityId, final Principal principal)
             throws ResourceNotFoundException, AccessDeniedException {
         activityValidator.accessAdminOrInstructor(principal);
-        activityService.delete(activityId);
-        cache.remove(activityId);
+        activityService.delete(activityId).forEach(lessonPlanCache::evict);
+        cache.delete(activityId);
     }
 
     /**
-     * Get all activities.
+     * Get a page of activities, ordered by ID.
      *
+     * @param after ID to start after
+     * @param limit page size
      * @param principal Principal
      * @return list of Activity
      * @throws ResourceNotFoundException when activity is not found
@@ -168,47 +189,17 @@ public class ActivityController {
      *                                   perform operation
      */
     @GetMapping
-    public List<Activity> list(final Principal principal) throws ResourceNotFoundException, AccessDeniedException {
+    public ResponseEntity<List<Activity>> list(@RequestParam(value = "after", required = false) final Long after,
+                                               @RequestParam(value = "limit", required = false) final Integer limit,
+                                               final Principal principal)
+            throws ResourceNotFoundException, AccessDeniedException {
         activityValidator.accessAdminOrInstructor(principal);
-        return activityService.getAll()
+        final int pageSize = Pagination.limit(limit, pagination);
+        final List<Activity> activities = activityService.getPage(Pagination.after(after), pageSize)
                 .stream()
-                .map(this::map)
+                .map(ActivityMapper::map)
                 .collect(Collectors.toList());
+        return Pagination.page(activities, pageSize, Activity::getId);
     }
 
-    /**
-     * Maps an ActivityEntity to an Activity.
-     *
-     * @param activityEntity ActivityEntity
-     * @return Activity
-     */
-    private Activity map(final ActivityEntity activityEntity) {
-        final Activity activity = new Activity();
-        activity.setTitle(activityEntity.getTitle());
-        activity.setId(activityEntity.getId());
-        activity.setActivityType(activityEntity.getActivityType());
-        activity.setDuration(activityEntity.getDuration());
-        activity.setCreatedAt(activityEntity.getCreatedAt());
-        activity.setUpdatedAt(activityEntity.getUpdatedAt());
-        activity.setReferenceId(activityEntity.getReferenceId());
-        return activity;
-    }
-
-    /**
-     * Maps an Activity to an ActivityEntity.
-     *
-     * @param activity Activity
-     * @return ActivityEntity
-     */
-    private ActivityEntity map(final Activity activity) {
-        final ActivityEntity activityEntity = new ActivityEntity();
-        activityEntity.setTitle(activity.getTitle());
-        activityEntity.setId(activity.getId());
-        activityEntity.setActivityType(activity.getActivityType());
-        activityEntity.setDuration(activity.getDuration());
-        activityEntity.setCreatedAt(activity.getCreatedAt());
-        activityEntity.setUpdatedAt(activity.getUpdatedAt());
-        activityEntity.setReferenceId(activity.getReferenceId());
-        return activityEntity;
-    }
 }
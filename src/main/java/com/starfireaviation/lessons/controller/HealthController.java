@@ -16,16 +16,34 @@
 
 package com.starfireaviation.lessons.controller;
 
+import com.starfireaviation.lessons.cache.CacheMonitor;
+import com.starfireaviation.lessons.cache.CacheStatistics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/health")
 public class HealthController {
 
+    /**
+     * CacheMonitor.
+     */
+    private final CacheMonitor cacheMonitor;
+
+    /**
+     * HealthController.
+     *
+     * @param cMonitor CacheMonitor
+     */
+    public HealthController(final CacheMonitor cMonitor) {
+        cacheMonitor = cMonitor;
+    }
+
     /**
      * Endpoint to test application.
      *
@@ -35,4 +53,14 @@ public class HealthController {
     public String health() {
         return "OK";
     }
+
+    /**
+     * Per map cache statistics.
+     *
+     * @return CacheStatistics for each cached map
+     */
+    @GetMapping("/caches")
+    public List<CacheStatistics> caches() {
+        return cacheMonitor.getStatistics();
+    }
 }
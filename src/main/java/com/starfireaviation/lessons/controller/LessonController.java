@@ -18,14 +18,28 @@ package com.starfireaviation.lessons.controller;
 
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.ReachedMaxSizeException;
+import com.hazelcast.query.Predicates;
 import com.starfireaviation.common.exception.AccessDeniedException;
 import com.starfireaviation.common.exception.InvalidPayloadException;
 import com.starfireaviation.common.exception.ResourceNotFoundException;
 import com.starfireaviation.common.model.Lesson;
-import com.starfireaviation.lessons.model.LessonEntity;
+import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.cache.RenderedResponse;
+import com.starfireaviation.lessons.cache.RenderedResponseCache;
+import com.starfireaviation.lessons.cache.StampedCache;
+import com.starfireaviation.lessons.cache.TwoTierCache;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import com.starfireaviation.lessons.config.ServiceConfig;
+import com.starfireaviation.lessons.mapper.LessonMapper;
+import com.starfireaviation.lessons.model.LessonSummary;
 import com.starfireaviation.lessons.service.LessonService;
 import com.starfireaviation.lessons.validation.LessonValidator;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -33,21 +47,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * LessonController.
  */
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@Slf4j
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = Pagination.NEXT_CURSOR_HEADER)
 @RestController
 @RequestMapping({ "/api/lessons" })
 public class LessonController {
 
+    /**
+     * Gzip content coding.
+     */
+    private static final String GZIP = "gzip";
+
     /**
      * LessonService.
      */
@@ -61,21 +90,66 @@ public class LessonController {
     /**
      * Lessons Cache.
      */
-    private final IMap<Long, Lesson> cache;
+    private final TwoTierCache<Lesson> cache;
+
+    /**
+     * Pre-rendered Lesson responses.
+     */
+    private final RenderedResponseCache<Lesson> responseCache;
+
+    /**
+     * LessonPlan Cache.
+     */
+    private final TwoTierCache<LessonPlan> lessonPlanCache;
+
+    /**
+     * Lesson counts for groups whose lessons are fully cached.
+     */
+    private final IMap<String, Integer> groupCache;
+
+    /**
+     * Table of contents for each group.
+     */
+    private final StampedCache<String, List<LessonSummary>> summaryCache;
+
+    /**
+     * Persist lesson updates asynchronously through the cache.
+     */
+    private final boolean writeBehind;
+
+    /**
+     * List endpoint page sizes.
+     */
+    private final ApplicationProperties.PaginationProperties pagination;
 
     /**
      * LessonController.
      *
      * @param lService   LessonService
      * @param lValidator LessonValidator
+     * @param lessonCache Lesson cache
+     * @param lessonResponseCache pre-rendered Lesson responses
+     * @param lpCache LessonPlan cache
      * @param hazelcastInstance HazelcastInstance
+     * @param props ApplicationProperties
      */
     public LessonController(final LessonService lService,
                             final LessonValidator lValidator,
-                            @Qualifier("lessons") final HazelcastInstance hazelcastInstance) {
+                            final TwoTierCache<Lesson> lessonCache,
+                            final RenderedResponseCache<Lesson> lessonResponseCache,
+                            final TwoTierCache<LessonPlan> lpCache,
+                            @Qualifier("lessons") final HazelcastInstance hazelcastInstance,
+                            final ApplicationProperties props) {
         lessonService = lService;
         lessonValidator = lValidator;
-        cache = hazelcastInstance.getMap("lessons");
+        cache = lessonCache;
+        responseCache = lessonResponseCache;
+        lessonPlanCache = lpCache;
+        groupCache = hazelcastInstance.getMap("lessongroups");
+        summaryCache = new StampedCache<>(hazelcastInstance.getMap(ServiceConfig.LESSON_SUMMARIES_MAP),
+                hazelcastInstance.getMap(ServiceConfig.LESSON_SUMMARY_VERSIONS_MAP));
+        writeBehind = props.getHazelcast().getMap("lessons").getWriteBehind().isEnabled();
+        pagination = props.getPagination();
     }
 
     /**
@@ -93,34 +167,53 @@ public class LessonController {
             throws AccessDeniedException, InvalidPayloadException {
         lessonValidator.validate(lesson);
         //lessonValidator.accessAdminOrInstructor(principal);
-        final Lesson newLesson = map(lessonService.store(map(lesson)));
-        cache.put(newLesson.getId(), newLesson);
+        final Lesson newLesson = LessonMapper.map(lessonService.store(LessonMapper.map(lesson)));
+        if (writeBehind) {
+            // Already persisted, so don't queue another write
+            cache.putTransient(newLesson.getId(), newLesson);
+        } else {
+            cache.set(newLesson.getId(), newLesson);
+        }
+        evictGroups(newLesson);
         return newLesson;
     }
 
     /**
-     * Gets a lesson.
+     * Gets a lesson, as JSON rendered once and reused while responses are pre-rendered. Clients that accept gzip get
+     * the compressed copy when one is kept.
      *
      * @param lessonId  Long
+     * @param acceptEncoding Accept-Encoding header
      * @param principal Principal
-     * @return Lesson
+     * @return Lesson JSON
+     * @throws ResourceNotFoundException when lesson is not found
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
      */
-    @GetMapping(path = { "/{lessonId}" })
-    public Lesson get(@PathVariable("lessonId") final Long lessonId, final Principal principal)
-            throws AccessDeniedException {
+    @GetMapping(path = { "/{lessonId}" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> get(@PathVariable("lessonId") final Long lessonId,
+                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                      final String acceptEncoding,
+                                      final Principal principal)
+            throws ResourceNotFoundException, AccessDeniedException {
         //lessonValidator.accessAnyAuthenticated(principal);
-        if (cache.containsKey(lessonId)) {
-            return cache.get(lessonId);
+        final RenderedResponse rendered = responseCache.get(lessonId, cache::get);
+        if (rendered == null) {
+            throw new ResourceNotFoundException(String.format("No lesson found for ID [%s]", lessonId));
         }
-        final Lesson lesson = map(lessonService.get(lessonId));
-        cache.put(lesson.getId(), lesson);
-        return lesson;
+        final ResponseEntity.BodyBuilder response = ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (rendered.getGzip() != null && acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(rendered.getGzip());
+        }
+        return response.body(rendered.getJson());
     }
 
     /**
-     * Updates a lesson.
+     * Updates a lesson. In write-behind mode the cached lesson is updated immediately and the database write is
+     * queued, unless the lesson is not already cached or the write-behind queue is full.
      *
      * @param lesson    Lesson
      * @param principal Principal
@@ -134,8 +227,30 @@ public class LessonController {
             throws InvalidPayloadException, AccessDeniedException {
         lessonValidator.validate(lesson);
         //lessonValidator.accessAdminOrInstructor(principal);
-        final Lesson updatedLesson = map(lessonService.store(map(lesson)));
-        cache.put(updatedLesson.getId(), updatedLesson);
+        Lesson existingLesson = null;
+        if (lesson.getId() != null) {
+            existingLesson = cache.get(lesson.getId());
+        }
+        if (writeBehind && existingLesson != null) {
+            lesson.setCreatedAt(existingLesson.getCreatedAt());
+            lesson.setUpdatedAt(new Date());
+            try {
+                cache.set(lesson.getId(), lesson);
+                responseCache.invalidate(lesson.getId());
+                evictGroups(existingLesson, lesson);
+                return lesson;
+            } catch (ReachedMaxSizeException rmse) {
+                log.warn("Write-behind queue is full; storing lesson [{}] synchronously", lesson.getId());
+            }
+        }
+        final Lesson updatedLesson = LessonMapper.map(lessonService.store(LessonMapper.map(lesson)));
+        if (writeBehind) {
+            cache.putTransient(updatedLesson.getId(), updatedLesson);
+        } else {
+            cache.set(updatedLesson.getId(), updatedLesson);
+        }
+        responseCache.invalidate(updatedLesson.getId());
+        evictGroups(existingLesson, updatedLesson);
         return updatedLesson;
     }
 
@@ -151,12 +266,18 @@ public class LessonController {
     public void delete(@PathVariable("lessonId") final Long lessonId, final Principal principal)
             throws AccessDeniedException {
         //lessonValidator.accessAdminOrInstructor(principal);
-        lessonService.delete(lessonId);
+        final Lesson existingLesson = cache.get(lessonId);
+        lessonService.delete(lessonId).forEach(lessonPlanCache::evict);
         cache.delete(lessonId);
+        responseCache.invalidate(lessonId);
+        evictGroups(existingLesson);
     }
 
     /**
-     * Gets all lessons for a given course.
+     * Gets all lessons for a given course, ordered by chapter. Answered from the lessons cache with an indexed query
+     * when every lesson in the group is cached. Otherwise the group's IDs are read from the database, together with
+     * those of cached lessons in the group, and the lessons fetched through the cache, which only loads the missing
+     * ones, so cached edits that haven't been written yet are never replaced by older rows.
      *
      * @param group    group name (ex. PVT or IFR)
      * @param principal Principal
@@ -170,59 +291,117 @@ public class LessonController {
                                              final Principal principal)
             throws ResourceNotFoundException, AccessDeniedException {
         //lessonValidator.accessAnyAuthenticated(principal);
-        return lessonService.getLessonsByGroup(group).stream().map(this::map).collect(Collectors.toList());
+        final Integer cachedCount = groupCache.get(group);
+        if (cachedCount != null) {
+            final List<Lesson> lessons = new ArrayList<>(cache.getMap().values(Predicates.equal("group", group)));
+            if (lessons.size() == cachedCount) {
+                lessons.sort(Comparator.comparing(Lesson::getChapter));
+                return lessons;
+            }
+        }
+        // Lessons moved into the group by a queued write-behind update are only in the group in the cache
+        final Set<Long> lessonIds = new HashSet<>(lessonService.getLessonIdsByGroup(group));
+        lessonIds.addAll(cache.getMap().keySet(Predicates.equal("group", group)));
+        final Map<Long, Lesson> cachedLessons = cache.getMap().getAll(lessonIds);
+        final List<Lesson> lessons = cachedLessons
+                .values()
+                .stream()
+                .filter(lesson -> lesson != null && group.equals(lesson.getGroup()))
+                .sorted(Comparator.comparing(Lesson::getChapter))
+                .collect(Collectors.toList());
+        groupCache.set(group, lessons.size());
+        return lessons;
     }
 
     /**
-     * Get all lessons.
+     * Gets the table of contents for a given course, ordered by chapter. Only the summary columns are read; clients
+     * fetch each lesson's text from the detail view. Summaries are only cached if no lesson in the group changed while
+     * they were read. In write-behind mode the database may not have the latest lessons yet, so the summaries are
+     * taken from the group's cached lessons instead.
      *
+     * @param group    group name (ex. PVT or IFR)
+     * @param principal Principal
+     * @return list of LessonSummary
+     * @throws ResourceNotFoundException when lesson information is not found
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     */
+    @GetMapping(path = { "/summaries/{group}" })
+    public List<LessonSummary> getSummariesByGroup(@PathVariable("group") final String group,
+                                                   final Principal principal)
+            throws ResourceNotFoundException, AccessDeniedException {
+        //lessonValidator.accessAnyAuthenticated(principal);
+        if (writeBehind) {
+            return getAllLessonsByGroup(group, principal)
+                    .stream()
+                    .map(lesson -> new LessonSummary(lesson.getId(), lesson.getGroup(), lesson.getChapter(),
+                            lesson.getTitle(), lesson.isRequired()))
+                    .collect(Collectors.toList());
+        }
+        final List<LessonSummary> cached = summaryCache.get(group);
+        if (cached != null) {
+            return cached;
+        }
+        final Long stamp = summaryCache.stamp(group);
+        final List<LessonSummary> summaries = new ArrayList<>(lessonService.getSummariesByGroup(group));
+        summaryCache.put(group, summaries, stamp);
+        return summaries;
+    }
+
+    /**
+     * Get a page of lessons, ordered by ID.
+     *
+     * @param after ID to start after
+     * @param limit page size
      * @param principal Principal
      * @return list of Lessons
      * @throws AccessDeniedException     when user doesn't have permission to
      *                                   perform operation
      */
     @GetMapping
-    public List<Lesson> list(final Principal principal) throws AccessDeniedException {
+    public ResponseEntity<List<Lesson>> list(@RequestParam(value = "after", required = false) final Long after,
+                                             @RequestParam(value = "limit", required = false) final Integer limit,
+                                             final Principal principal) throws AccessDeniedException {
         //lessonValidator.accessAdminOrInstructor(principal);
-        return lessonService.getAll().stream().map(this::map).collect(Collectors.toList());
+        final int pageSize = Pagination.limit(limit, pagination);
+        final List<Lesson> lessons = lessonService.getPage(Pagination.after(after), pageSize)
+                .stream()
+                .map(LessonMapper::map)
+                .collect(Collectors.toList());
+        return Pagination.page(lessons, pageSize, Lesson::getId);
     }
 
     /**
-     * Maps a LessonEntity to a Lesson.
+     * Evicts the cached listings of the groups the given lessons belong to, after the lessons themselves have been
+     * written to the cache. Pass a lesson's previous version too, so a lesson moved between groups leaves both.
      *
-     * @param lessonEntity LessonEntity
-     * @return Lesson
+     * @param lessons Lessons, any of which may be null
      */
-    private Lesson map(final LessonEntity lessonEntity) {
-        final Lesson lesson = new Lesson();
-        lesson.setChapter(lessonEntity.getChapter());
-        lesson.setGroup(lessonEntity.getGroup());
-        lesson.setId(lessonEntity.getId());
-        lesson.setTitle(lessonEntity.getTitle());
-        lesson.setText(lessonEntity.getText());
-        lesson.setRequired(lessonEntity.isRequired());
-        lesson.setCreatedAt(lessonEntity.getCreatedAt());
-        lesson.setUpdatedAt(lessonEntity.getUpdatedAt());
-        return lesson;
+    private void evictGroups(final Lesson... lessons) {
+        for (final Lesson lesson : lessons) {
+            if (lesson != null && lesson.getGroup() != null) {
+                groupCache.delete(lesson.getGroup());
+                summaryCache.evict(lesson.getGroup());
+            }
+        }
     }
 
     /**
-     * Maps a Lesson to a LessonEntity.
+     * Whether an Accept-Encoding header allows gzip.
      *
-     * @param lesson Lesson
-     * @return LessonEntity
-     */
-    private LessonEntity map(final Lesson lesson) {
-        final LessonEntity lessonEntity = new LessonEntity();
-        lessonEntity.setChapter(lesson.getChapter());
-        lessonEntity.setGroup(lesson.getGroup());
-        lessonEntity.setId(lesson.getId());
-        lessonEntity.setText(lesson.getText());
-        lessonEntity.setTitle(lesson.getTitle());
-        lessonEntity.setRequired(lesson.isRequired());
-        lessonEntity.setCreatedAt(lesson.getCreatedAt());
-        lessonEntity.setUpdatedAt(lesson.getUpdatedAt());
-        return lessonEntity;
+     * @param acceptEncoding Accept-Encoding header
+     * @return true when gzip is acceptable
+     */
+    private static boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().toLowerCase(Locale.ROOT).split(";");
+            if (GZIP.equals(parts[0].trim())) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
-
 }
@@ -17,15 +17,21 @@
 package com.starfireaviation.lessons.controller;
 
 import com.hazelcast.core.HazelcastInstance;
-import com.hazelcast.map.IMap;
 import com.starfireaviation.common.exception.AccessDeniedException;
 import com.starfireaviation.common.exception.InvalidPayloadException;
 import com.starfireaviation.common.exception.ResourceNotFoundException;
 import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.cache.StampedCache;
+import com.starfireaviation.lessons.cache.TwoTierCache;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import com.starfireaviation.lessons.config.ServiceConfig;
+import com.starfireaviation.lessons.mapper.LessonPlanMapper;
 import com.starfireaviation.lessons.model.LessonPlanEntity;
+import com.starfireaviation.lessons.model.LessonPlanSummary;
 import com.starfireaviation.lessons.service.LessonPlanService;
 import com.starfireaviation.lessons.validation.LessonPlanValidator;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -38,13 +44,18 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.security.Principal;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * LessonPlanController.
  */
-@CrossOrigin(origins = "*", allowedHeaders = "*")
+@CrossOrigin(origins = "*", allowedHeaders = "*", exposedHeaders = Pagination.NEXT_CURSOR_HEADER)
 @RestController
 @RequestMapping({ "/api/lessonplans" })
 public class LessonPlanController {
@@ -62,21 +73,38 @@ public class LessonPlanController {
     /**
      * Lesson Plan Cache.
      */
-    private final IMap<Long, LessonPlan> cache;
+    private final TwoTierCache<LessonPlan> cache;
+
+    /**
+     * LessonPlan summaries.
+     */
+    private final StampedCache<Long, LessonPlanSummary> summaryCache;
+
+    /**
+     * List endpoint page sizes.
+     */
+    private final ApplicationProperties.PaginationProperties pagination;
 
     /**
      * LessonPlanController.
      *
      * @param lpService   LessonPlanService
      * @param lpValidator LessonPlanValidator
+     * @param lessonPlanCache LessonPlan cache
      * @param hazelcastInstance HazelcastInstance
+     * @param props ApplicationProperties
      */
     public LessonPlanController(final LessonPlanService lpService,
                                 final LessonPlanValidator lpValidator,
-                                @Qualifier("lessonplans") final HazelcastInstance hazelcastInstance) {
+                                final TwoTierCache<LessonPlan> lessonPlanCache,
+                                @Qualifier("lessons") final HazelcastInstance hazelcastInstance,
+                                final ApplicationProperties props) {
         lessonPlanService = lpService;
         lessonPlanValidator = lpValidator;
-        cache = hazelcastInstance.getMap("lessonplans");
+        cache = lessonPlanCache;
+        summaryCache = new StampedCache<>(hazelcastInstance.getMap(ServiceConfig.LESSON_PLAN_SUMMARIES_MAP),
+                hazelcastInstance.getMap(ServiceConfig.LESSON_PLAN_SUMMARY_VERSIONS_MAP));
+        pagination = props.getPagination();
     }
 
     /**
@@ -96,7 +124,7 @@ public class LessonPlanController {
             ResourceNotFoundException, AccessDeniedException {
         lessonPlanValidator.validate(lessonPlan);
         lessonPlanValidator.accessAdminOrInstructor(principal);
-        return map(lessonPlanService.store(map(lessonPlan)));
+        return map(lessonPlanService.store(LessonPlanMapper.map(lessonPlan)));
     }
 
     /**
@@ -113,11 +141,10 @@ public class LessonPlanController {
     public LessonPlan get(@PathVariable("lessonPlanId") final Long lessonPlanId, final Principal principal)
             throws ResourceNotFoundException, AccessDeniedException {
         lessonPlanValidator.accessAdminOrInstructor(principal);
-        if (cache.containsKey(lessonPlanId)) {
-            return cache.get(lessonPlanId);
+        final LessonPlan lessonPlan = cache.get(lessonPlanId);
+        if (lessonPlan == null) {
+            throw new ResourceNotFoundException(String.format("No lesson plan found for ID [%s]", lessonPlanId));
         }
-        final LessonPlan lessonPlan = map(lessonPlanService.get(lessonPlanId));
-        cache.put(lessonPlanId, lessonPlan);
         return lessonPlan;
     }
 
@@ -137,10 +164,11 @@ public class LessonPlanController {
             throws InvalidPayloadException, ResourceNotFoundException, AccessDeniedException {
         lessonPlanValidator.validate(lessonPlan);
         lessonPlanValidator.accessAdminOrInstructor(principal);
-        final LessonPlan updatedLessonPlan = map(lessonPlanService.store(map(lessonPlan)));
-        lessonPlanService.linkLessons(updatedLessonPlan.getId(), lessonPlan.getLessonIds());
-        lessonPlanService.linkActivities(updatedLessonPlan.getId(), lessonPlan.getActivityIds());
-        cache.put(updatedLessonPlan.getId(), updatedLessonPlan);
+        final LessonPlanEntity lessonPlanEntity = lessonPlanService.update(LessonPlanMapper.map(lessonPlan),
+                lessonPlan.getLessonIds(), lessonPlan.getActivityIds());
+        final LessonPlan updatedLessonPlan = map(lessonPlanEntity);
+        cache.set(updatedLessonPlan.getId(), updatedLessonPlan);
+        summaryCache.evict(updatedLessonPlan.getId());
         return updatedLessonPlan;
     }
 
@@ -158,13 +186,16 @@ public class LessonPlanController {
             throws ResourceNotFoundException, AccessDeniedException {
         lessonPlanValidator.accessAdminOrInstructor(principal);
         lessonPlanService.delete(lessonPlanId);
-        cache.remove(lessonPlanId);
+        cache.delete(lessonPlanId);
+        summaryCache.evict(lessonPlanId);
     }
 
     /**
-     * Get all lessonPlans.
+     * Get a page of lessonPlan IDs, in order.
      *
-     * @param presentable Presentable flag
+     * @param presentable only list presentable lesson plans when true
+     * @param after ID to start after
+     * @param limit page size
      * @param principal Principal
      * @return list of LessonPlan IDs
      * @throws ResourceNotFoundException when lesson plan is not found
@@ -172,14 +203,60 @@ public class LessonPlanController {
      *                                   perform operation
      */
     @GetMapping
-    public List<Long> list(@RequestParam(value = "presentable", required = false) final Boolean presentable,
-                           final Principal principal) throws ResourceNotFoundException, AccessDeniedException {
+    public ResponseEntity<List<Long>> list(
+            @RequestParam(value = "presentable", required = false) final Boolean presentable,
+            @RequestParam(value = "after", required = false) final Long after,
+            @RequestParam(value = "limit", required = false) final Integer limit,
+            final Principal principal) throws ResourceNotFoundException, AccessDeniedException {
+        lessonPlanValidator.accessAdminOrInstructor(principal);
+        final int pageSize = Pagination.limit(limit, pagination);
+        final List<Long> lessonPlanIds = lessonPlanService.getIdPage(Boolean.TRUE.equals(presentable),
+                Pagination.after(after), pageSize);
+        return Pagination.page(lessonPlanIds, pageSize, Function.identity());
+    }
+
+    /**
+     * Get a page of lessonPlan summaries, in ID order. Summaries missing from the cache are read together, without the
+     * long text columns, and only cached if their lesson plans didn't change while they were read.
+     *
+     * @param presentable only list presentable lesson plans when true
+     * @param after ID to start after
+     * @param limit page size
+     * @param principal Principal
+     * @return list of LessonPlanSummary
+     * @throws ResourceNotFoundException when lesson plan is not found
+     * @throws AccessDeniedException     when user doesn't have permission to
+     *                                   perform operation
+     */
+    @GetMapping(path = { "/summaries" })
+    public ResponseEntity<List<LessonPlanSummary>> listSummaries(
+            @RequestParam(value = "presentable", required = false) final Boolean presentable,
+            @RequestParam(value = "after", required = false) final Long after,
+            @RequestParam(value = "limit", required = false) final Integer limit,
+            final Principal principal) throws ResourceNotFoundException, AccessDeniedException {
         lessonPlanValidator.accessAdminOrInstructor(principal);
-        return lessonPlanService.getAll()
+        final int pageSize = Pagination.limit(limit, pagination);
+        final List<Long> lessonPlanIds = lessonPlanService.getIdPage(Boolean.TRUE.equals(presentable),
+                Pagination.after(after), pageSize);
+        final Map<Long, LessonPlanSummary> summaries = new HashMap<>(summaryCache.getAll(new HashSet<>(lessonPlanIds)));
+        final List<Long> missingIds = lessonPlanIds
                 .stream()
-                .filter(lp -> !presentable || presentable == lp.isPresentable())
-                .map(LessonPlanEntity::getId)
+                .filter(id -> !summaries.containsKey(id))
                 .collect(Collectors.toList());
+        if (!missingIds.isEmpty()) {
+            final Map<Long, Long> stamps = summaryCache.stamps(new HashSet<>(missingIds));
+            final Map<Long, LessonPlanSummary> loaded = lessonPlanService.getSummaries(missingIds)
+                    .stream()
+                    .collect(Collectors.toMap(LessonPlanSummary::getId, Function.identity()));
+            summaryCache.putAll(loaded, stamps);
+            summaries.putAll(loaded);
+        }
+        final List<LessonPlanSummary> page = lessonPlanIds
+                .stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return Pagination.page(page, pageSize, LessonPlanSummary::getId);
     }
 
     /**
@@ -189,41 +266,10 @@ public class LessonPlanController {
      * @return LessonPlan
      */
     private LessonPlan map(final LessonPlanEntity lessonPlanEntity) {
-        final LessonPlan lessonPlan = new LessonPlan();
-        lessonPlan.setId(lessonPlanEntity.getId());
-        lessonPlan.setActivityIds(lessonPlanService.getActivityIdsForLessonPlan(lessonPlanEntity.getId()));
-        lessonPlan.setLessonIds(lessonPlanService.getLessonIdsForLessonPlan(lessonPlanEntity.getId()));
-        lessonPlan.setContent(lessonPlanEntity.getContent());
-        lessonPlan.setEquipment(lessonPlanEntity.getEquipment());
-        lessonPlan.setCompletionStandards(lessonPlanEntity.getCompletionStandards());
-        lessonPlan.setInstructorActions(lessonPlanEntity.getInstructorActions());
-        lessonPlan.setObjective(lessonPlanEntity.getObjective());
-        lessonPlan.setSchedule(lessonPlanEntity.getSchedule());
-        lessonPlan.setStudentActions(lessonPlanEntity.getStudentActions());
-        lessonPlan.setSummary(lessonPlanEntity.getSummary());
-        lessonPlan.setTitle(lessonPlanEntity.getTitle());
-        return lessonPlan;
-    }
-
-    /**
-     * Maps LessonPlan to LessonPlanEntity.
-     *
-     * @param lessonPlan LessonPlan
-     * @return LessonPlanEntity
-     */
-    private LessonPlanEntity map(final LessonPlan lessonPlan) {
-        final LessonPlanEntity lessonPlanEntity = new LessonPlanEntity();
-        lessonPlanEntity.setId(lessonPlan.getId());
-        lessonPlanEntity.setContent(lessonPlan.getContent());
-        lessonPlanEntity.setEquipment(lessonPlan.getEquipment());
-        lessonPlanEntity.setCompletionStandards(lessonPlan.getCompletionStandards());
-        lessonPlanEntity.setInstructorActions(lessonPlan.getInstructorActions());
-        lessonPlanEntity.setObjective(lessonPlan.getObjective());
-        lessonPlanEntity.setSchedule(lessonPlan.getSchedule());
-        lessonPlanEntity.setStudentActions(lessonPlan.getStudentActions());
-        lessonPlanEntity.setSummary(lessonPlan.getSummary());
-        lessonPlanEntity.setTitle(lessonPlan.getTitle());
-        return lessonPlanEntity;
+        return LessonPlanMapper.map(
+                lessonPlanEntity,
+                lessonPlanService.getActivityIdsForLessonPlan(lessonPlanEntity.getId()),
+                lessonPlanService.getLessonIdsForLessonPlan(lessonPlanEntity.getId()));
     }
 
 }
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.controller;
+
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination for list endpoints. Pages are ordered by ID; a client passes the last ID it received as the
+ * after parameter to get the next page. Full pages carry that ID in the X-Next-Cursor header. Pages are read into
+ * lists rather than streamed from the database: a page never holds more than the configured maximum size, while a
+ * streamed result would keep a cursor, a pooled connection and a transaction open until the client had read it.
+ */
+final class Pagination {
+
+    /**
+     * Header holding the cursor for the next page.
+     */
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Pagination.
+     */
+    private Pagination() {
+    }
+
+    /**
+     * Cursor to start after, 0 (before every ID) when none is given.
+     *
+     * @param after requested cursor
+     * @return cursor
+     */
+    static long after(final Long after) {
+        if (after == null) {
+            return 0;
+        }
+        return after;
+    }
+
+    /**
+     * Page size, clamped between 1 and the configured maximum.
+     *
+     * @param limit requested page size
+     * @param props PaginationProperties
+     * @return page size
+     */
+    static int limit(final Integer limit, final ApplicationProperties.PaginationProperties props) {
+        if (limit == null) {
+            return Math.min(props.getDefaultSize(), props.getMaxSize());
+        }
+        return Math.max(1, Math.min(limit, props.getMaxSize()));
+    }
+
+    /**
+     * Builds a page response. A full page may be followed by another, so it gets a next cursor.
+     *
+     * @param items page items, in ID order
+     * @param limit page size
+     * @param idOf gets an item's ID
+     * @param <T> item type
+     * @return ResponseEntity
+     */
+    static <T> ResponseEntity<List<T>> page(final List<T> items, final int limit, final Function<T, Long> idOf) {
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (!items.isEmpty() && items.size() >= limit) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(idOf.apply(items.get(items.size() - 1))));
+        }
+        return response.body(items);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.mapper;
+
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.lessons.model.LessonEntity;
+
+/**
+ * LessonMapper.
+ */
+public final class LessonMapper {
+
+    /**
+     * LessonMapper.
+     */
+    private LessonMapper() {
+    }
+
+    /**
+     * Maps a LessonEntity to a Lesson.
+     *
+     * @param lessonEntity LessonEntity
+     * @return Lesson
+     */
+    public static Lesson map(final LessonEntity lessonEntity) {
+        final Lesson lesson = new Lesson();
+        lesson.setChapter(lessonEntity.getChapter());
+        lesson.setGroup(lessonEntity.getGroup());
+        lesson.setId(lessonEntity.getId());
+        lesson.setTitle(lessonEntity.getTitle());
+        lesson.setText(lessonEntity.getText());
+        lesson.setRequired(lessonEntity.isRequired());
+        lesson.setCreatedAt(lessonEntity.getCreatedAt());
+        lesson.setUpdatedAt(lessonEntity.getUpdatedAt());
+        return lesson;
+    }
+
+    /**
+     * Maps a Lesson to a LessonEntity.
+     *
+     * @param lesson Lesson
+     * @return LessonEntity
+     */
+    public static LessonEntity map(final Lesson lesson) {
+        final LessonEntity lessonEntity = new LessonEntity();
+        lessonEntity.setChapter(lesson.getChapter());
+        lessonEntity.setGroup(lesson.getGroup());
+        lessonEntity.setId(lesson.getId());
+        lessonEntity.setText(lesson.getText());
+        lessonEntity.setTitle(lesson.getTitle());
+        lessonEntity.setRequired(lesson.isRequired());
+        lessonEntity.setCreatedAt(lesson.getCreatedAt());
+        lessonEntity.setUpdatedAt(lesson.getUpdatedAt());
+        return lessonEntity;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.mapper;
+
+import com.starfireaviation.common.model.LessonPlan;
+import com.starfireaviation.lessons.model.LessonPlanEntity;
+
+import java.util.List;
+
+/**
+ * LessonPlanMapper.
+ */
+public final class LessonPlanMapper {
+
+    /**
+     * LessonPlanMapper.
+     */
+    private LessonPlanMapper() {
+    }
+
+    /**
+     * Maps LessonPlanEntity to LessonPlan.
+     *
+     * @param lessonPlanEntity LessonPlanEntity
+     * @param activityIds linked Activity IDs
+     * @param lessonIds linked Lesson IDs
+     * @return LessonPlan
+     */
+    public static LessonPlan map(final LessonPlanEntity lessonPlanEntity,
+                                 final List<Long> activityIds,
+                                 final List<Long> lessonIds) {
+        final LessonPlan lessonPlan = new LessonPlan();
+        lessonPlan.setId(lessonPlanEntity.getId());
+        lessonPlan.setActivityIds(activityIds);
+        lessonPlan.setLessonIds(lessonIds);
+        lessonPlan.setContent(lessonPlanEntity.getContent());
+        lessonPlan.setEquipment(lessonPlanEntity.getEquipment());
+        lessonPlan.setCompletionStandards(lessonPlanEntity.getCompletionStandards());
+        lessonPlan.setInstructorActions(lessonPlanEntity.getInstructorActions());
+        lessonPlan.setObjective(lessonPlanEntity.getObjective());
+        lessonPlan.setSchedule(lessonPlanEntity.getSchedule());
+        lessonPlan.setStudentActions(lessonPlanEntity.getStudentActions());
+        lessonPlan.setSummary(lessonPlanEntity.getSummary());
+        lessonPlan.setTitle(lessonPlanEntity.getTitle());
+        return lessonPlan;
+    }
+
+    /**
+     * Maps LessonPlan to LessonPlanEntity.
+     *
+     * @param lessonPlan LessonPlan
+     * @return LessonPlanEntity
+     */
+    public static LessonPlanEntity map(final LessonPlan lessonPlan) {
+        final LessonPlanEntity lessonPlanEntity = new LessonPlanEntity();
+        lessonPlanEntity.setId(lessonPlan.getId());
+        lessonPlanEntity.setContent(lessonPlan.getContent());
+        lessonPlanEntity.setEquipment(lessonPlan.getEquipment());
+        lessonPlanEntity.setCompletionStandards(lessonPlan.getCompletionStandards());
+        lessonPlanEntity.setInstructorActions(lessonPlan.getInstructorActions());
+        lessonPlanEntity.setObjective(lessonPlan.getObjective());
+        lessonPlanEntity.setSchedule(lessonPlan.getSchedule());
+        lessonPlanEntity.setStudentActions(lessonPlan.getStudentActions());
+        lessonPlanEntity.setSummary(lessonPlan.getSummary());
+        lessonPlanEntity.setTitle(lessonPlan.getTitle());
+        return lessonPlanEntity;
+    }
+
+}
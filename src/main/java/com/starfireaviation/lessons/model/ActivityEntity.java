@@ -19,9 +19,15 @@ package com.starfireaviation.lessons.model;
 import com.starfireaviation.common.CommonConstants;
 import com.starfireaviation.common.model.ActivityType;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -38,9 +44,16 @@ import java.util.Date;
  */
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ActivityEntity.CACHE_REGION)
 @Table(name = "ACTIVITY")
 public class ActivityEntity implements Serializable {
 
+    /**
+     * Second-level cache region.
+     */
+    public static final String CACHE_REGION = "activity";
+
     /**
      * Default SerialVersionUID.
      */
@@ -50,7 +63,9 @@ public class ActivityEntity implements Serializable {
      * ID.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ACTIVITY_SEQ")
+    @GenericGenerator(name = "ACTIVITY_SEQ", strategy = PooledIdGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "ACTIVITY_SEQ"))
     private Long id;
 
     /**
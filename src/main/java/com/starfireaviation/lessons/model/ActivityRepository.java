@@ -16,6 +16,8 @@
 
 package com.starfireaviation.lessons.model;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
 
 import java.util.List;
@@ -34,11 +36,13 @@ public interface ActivityRepository extends Repository<ActivityEntity, Long> {
     void delete(ActivityEntity activity);
 
     /**
-     * Gets all activities.
+     * Gets a page of ActivityEntity, ordered by ID, starting after the given ID.
      *
-     * @return list of Activity
+     * @param id ID to start after
+     * @param pageable page size
+     * @return list of ActivityEntity
      */
-    Optional<List<ActivityEntity>> findAll();
+    List<ActivityEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
     /**
      * Gets an activity.
@@ -48,6 +52,22 @@ public interface ActivityRepository extends Repository<ActivityEntity, Long> {
      */
     Optional<ActivityEntity> findById(Long id);
 
+    /**
+     * Gets every activity ID.
+     *
+     * @return list of IDs
+     */
+    @Query("select a.id from ActivityEntity a")
+    List<Long> findAllIds();
+
+    /**
+     * Gets all entities for the given IDs.
+     *
+     * @param ids IDs
+     * @return list of ActivityEntity
+     */
+    List<ActivityEntity> findAllById(Iterable<Long> ids);
+
     /**
      * Saves an activity.
      *
@@ -18,14 +18,21 @@ package com.starfireaviation.lessons.model;
 
 import com.starfireaviation.common.CommonConstants;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import java.io.Serializable;
 import java.util.Date;
@@ -35,9 +42,16 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "LESSON")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = LessonEntity.CACHE_REGION)
+@Table(name = "LESSON", indexes = @Index(name = "IDX_LESSON_GROUP_UNIT", columnList = "grp, unit"))
 public class LessonEntity implements Serializable {
 
+    /**
+     * Second-level cache region.
+     */
+    public static final String CACHE_REGION = "lesson";
+
     /**
      * Default SerialVersionUID.
      */
@@ -47,7 +61,9 @@ public class LessonEntity implements Serializable {
      * ID.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "LESSON_SEQ")
+    @GenericGenerator(name = "LESSON_SEQ", strategy = PooledIdGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "LESSON_SEQ"))
     private Long id;
 
     /**
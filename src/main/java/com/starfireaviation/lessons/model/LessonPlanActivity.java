@@ -17,15 +17,23 @@
 package com.starfireaviation.lessons.model;
 
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.io.Serializable;
 import java.util.Date;
 
@@ -34,9 +42,18 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "LESSON_PLAN_ACTIVITY")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = LessonPlanActivity.CACHE_REGION)
+@Table(name = "LESSON_PLAN_ACTIVITY", uniqueConstraints = @UniqueConstraint(name = "UK_LESSON_PLAN_ACTIVITY",
+        columnNames = { "lesson_plan_id", "activity_id" }),
+        indexes = @Index(name = "IDX_LESSON_PLAN_ACTIVITY_ACTIVITY", columnList = "activity_id"))
 public class LessonPlanActivity implements Serializable {
 
+    /**
+     * Second-level cache region.
+     */
+    public static final String CACHE_REGION = "lessonplanactivity";
+
     /**
      * Default SerialVersionUID.
      */
@@ -46,7 +63,9 @@ public class LessonPlanActivity implements Serializable {
      * ID.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "LESSON_PLAN_ACTIVITY_SEQ")
+    @GenericGenerator(name = "LESSON_PLAN_ACTIVITY_SEQ", strategy = PooledIdGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "LESSON_PLAN_ACTIVITY_SEQ"))
     private Long id;
 
     /**
@@ -16,8 +16,14 @@
 
 package com.starfireaviation.lessons.model;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,14 +39,61 @@ public interface LessonPlanActivityRepository extends Repository<LessonPlanActiv
      */
     void delete(LessonPlanActivity lessonPlanActivity);
 
+    /**
+     * Deletes the LessonPlanActivity rows with the given IDs in a single statement.
+     *
+     * @param ids LessonPlanActivity IDs
+     */
+    @Modifying
+    @Query("delete from LessonPlanActivity lpa where lpa.id in :ids")
+    void deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes every LessonPlanActivity for a lesson plan in a single statement.
+     *
+     * @param lessonPlanId LessonPlan ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from LessonPlanActivity lpa where lpa.lessonPlanId = :lessonPlanId")
+    int deleteByLessonPlanId(@Param("lessonPlanId") Long lessonPlanId);
+
+    /**
+     * Deletes every LessonPlanActivity for an activity in a single statement.
+     *
+     * @param activityId Activity ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from LessonPlanActivity lpa where lpa.activityId = :activityId")
+    int deleteByActivityId(@Param("activityId") Long activityId);
+
+    /**
+     * Gets the IDs of the lesson plans linked to an activity.
+     *
+     * @param activityId Activity ID
+     * @return list of LessonPlan IDs
+     */
+    @Query("select lpa.lessonPlanId from LessonPlanActivity lpa where lpa.activityId = :activityId")
+    List<Long> findLessonPlanIdsByActivityId(@Param("activityId") Long activityId);
+
     /**
      * Gets all LessonPlanActivity for a lesson plan.
      *
      * @param lessonPlanId LessonPlan ID
      * @return list of LessonPlanActivity
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<List<LessonPlanActivity>> findByLessonPlanId(Long lessonPlanId);
 
+    /**
+     * Gets all LessonPlanActivity for the given lesson plans in a single query.
+     *
+     * @param lessonPlanIds LessonPlan IDs
+     * @return list of LessonPlanActivity
+     */
+    List<LessonPlanActivity> findByLessonPlanIdIn(Collection<Long> lessonPlanIds);
+
     /**
      * Gets all LessonPlanActivity for an activity.
      *
@@ -73,4 +126,12 @@ public interface LessonPlanActivityRepository extends Repository<LessonPlanActiv
      * @return LessonPlanActivity
      */
     LessonPlanActivity save(LessonPlanActivity lessonPlanActivity);
+
+    /**
+     * Saves LessonPlanActivity rows.
+     *
+     * @param lessonPlanActivitys LessonPlanActivity rows
+     * @return list of LessonPlanActivity
+     */
+    List<LessonPlanActivity> saveAll(Iterable<LessonPlanActivity> lessonPlanActivitys);
 }
@@ -18,14 +18,21 @@ package com.starfireaviation.lessons.model;
 
 import com.starfireaviation.common.CommonConstants;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 import java.io.Serializable;
 import java.util.Date;
@@ -35,9 +42,17 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "LESSON_PLAN")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = LessonPlanEntity.CACHE_REGION)
+@Table(name = "LESSON_PLAN",
+        indexes = @Index(name = "IDX_LESSON_PLAN_PRESENTABLE", columnList = "presentable"))
 public class LessonPlanEntity implements Serializable {
 
+    /**
+     * Second-level cache region.
+     */
+    public static final String CACHE_REGION = "lessonplan";
+
     /**
      * Default SerialVersionUID.
      */
@@ -47,7 +62,9 @@ public class LessonPlanEntity implements Serializable {
      * ID.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "LESSON_PLAN_SEQ")
+    @GenericGenerator(name = "LESSON_PLAN_SEQ", strategy = PooledIdGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "LESSON_PLAN_SEQ"))
     private Long id;
 
     /**
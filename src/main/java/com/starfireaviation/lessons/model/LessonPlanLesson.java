@@ -17,15 +17,23 @@
 package com.starfireaviation.lessons.model;
 
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.io.Serializable;
 import java.util.Date;
 
@@ -34,9 +42,18 @@ import java.util.Date;
  */
 @Data
 @Entity
-@Table(name = "LESSON_PLAN_LESSON")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = LessonPlanLesson.CACHE_REGION)
+@Table(name = "LESSON_PLAN_LESSON", uniqueConstraints = @UniqueConstraint(name = "UK_LESSON_PLAN_LESSON",
+        columnNames = { "lesson_plan_id", "lesson_id" }),
+        indexes = @Index(name = "IDX_LESSON_PLAN_LESSON_LESSON", columnList = "lesson_id"))
 public class LessonPlanLesson implements Serializable {
 
+    /**
+     * Second-level cache region.
+     */
+    public static final String CACHE_REGION = "lessonplanlesson";
+
     /**
      * Default SerialVersionUID.
      */
@@ -46,7 +63,9 @@ public class LessonPlanLesson implements Serializable {
      * ID.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "LESSON_PLAN_LESSON_SEQ")
+    @GenericGenerator(name = "LESSON_PLAN_LESSON_SEQ", strategy = PooledIdGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "LESSON_PLAN_LESSON_SEQ"))
     private Long id;
 
     /**
@@ -16,8 +16,14 @@
 
 package com.starfireaviation.lessons.model;
 
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -33,14 +39,61 @@ public interface LessonPlanLessonRepository extends Repository<LessonPlanLesson,
      */
     void delete(LessonPlanLesson lessonPlanLesson);
 
+    /**
+     * Deletes the LessonPlanLesson rows with the given IDs in a single statement.
+     *
+     * @param ids LessonPlanLesson IDs
+     */
+    @Modifying
+    @Query("delete from LessonPlanLesson lpl where lpl.id in :ids")
+    void deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes every LessonPlanLesson for a lesson plan in a single statement.
+     *
+     * @param lessonPlanId LessonPlan ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from LessonPlanLesson lpl where lpl.lessonPlanId = :lessonPlanId")
+    int deleteByLessonPlanId(@Param("lessonPlanId") Long lessonPlanId);
+
+    /**
+     * Deletes every LessonPlanLesson for a lesson in a single statement.
+     *
+     * @param lessonId Lesson ID
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("delete from LessonPlanLesson lpl where lpl.lessonId = :lessonId")
+    int deleteByLessonId(@Param("lessonId") Long lessonId);
+
+    /**
+     * Gets the IDs of the lesson plans linked to a lesson.
+     *
+     * @param lessonId Lesson ID
+     * @return list of LessonPlan IDs
+     */
+    @Query("select lpl.lessonPlanId from LessonPlanLesson lpl where lpl.lessonId = :lessonId")
+    List<Long> findLessonPlanIdsByLessonId(@Param("lessonId") Long lessonId);
+
     /**
      * Gets all LessonPlanLesson for a lesson plan.
      *
      * @param lessonPlanId LessonPlan ID
      * @return list of LessonPlanLesson
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<List<LessonPlanLesson>> findByLessonPlanId(Long lessonPlanId);
 
+    /**
+     * Gets all LessonPlanLesson for the given lesson plans in a single query.
+     *
+     * @param lessonPlanIds LessonPlan IDs
+     * @return list of LessonPlanLesson
+     */
+    List<LessonPlanLesson> findByLessonPlanIdIn(Collection<Long> lessonPlanIds);
+
     /**
      * Gets all LessonPlanLesson for an lesson.
      *
@@ -73,4 +126,12 @@ public interface LessonPlanLessonRepository extends Repository<LessonPlanLesson,
      * @return LessonPlanLesson
      */
     LessonPlanLesson save(LessonPlanLesson lessonPlanLesson);
+
+    /**
+     * Saves LessonPlanLesson rows.
+     *
+     * @param lessonPlanLessons LessonPlanLesson rows
+     * @return list of LessonPlanLesson
+     */
+    List<LessonPlanLesson> saveAll(Iterable<LessonPlanLesson> lessonPlanLessons);
 }
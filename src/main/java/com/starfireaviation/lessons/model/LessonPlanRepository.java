@@ -16,8 +16,12 @@
 
 package com.starfireaviation.lessons.model;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,11 +38,27 @@ public interface LessonPlanRepository extends Repository<LessonPlanEntity, Long>
     void delete(LessonPlanEntity lessonPlan);
 
     /**
-     * Gets all lessonPlan.
+     * Gets a page of lesson plan IDs, in order, starting after the given ID.
      *
-     * @return list of LessonPlanEntity
+     * @param after ID to start after
+     * @param pageable page size
+     * @return list of LessonPlan IDs
+     */
+    @Query("select lp.id from LessonPlanEntity lp where lp.id > :after order by lp.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Gets a page of IDs of lesson plans with the given presentable flag, in order, starting after the given ID.
+     *
+     * @param presentable presentable flag
+     * @param after ID to start after
+     * @param pageable page size
+     * @return list of LessonPlan IDs
      */
-    Optional<List<LessonPlanEntity>> findAll();
+    @Query("select lp.id from LessonPlanEntity lp where lp.presentable = :presentable and lp.id > :after "
+            + "order by lp.id")
+    List<Long> findIdsByPresentableAfter(@Param("presentable") boolean presentable, @Param("after") long after,
+                                         Pageable pageable);
 
     /**
      * Gets a lessonPlan.
@@ -48,6 +68,33 @@ public interface LessonPlanRepository extends Repository<LessonPlanEntity, Long>
      */
     Optional<LessonPlanEntity> findById(Long id);
 
+    /**
+     * Gets all entities for the given IDs.
+     *
+     * @param ids IDs
+     * @return list of LessonPlanEntity
+     */
+    List<LessonPlanEntity> findAllById(Iterable<Long> ids);
+
+    /**
+     * Gets the IDs of lesson plans with the given presentable flag.
+     *
+     * @param presentable presentable flag
+     * @return list of LessonPlan IDs
+     */
+    @Query("select lp.id from LessonPlanEntity lp where lp.presentable = :presentable")
+    List<Long> findIdsByPresentable(@Param("presentable") boolean presentable);
+
+    /**
+     * Gets summaries of the given lesson plans. The long text columns are not read.
+     *
+     * @param ids LessonPlan IDs
+     * @return list of LessonPlanSummary
+     */
+    @Query("select new com.starfireaviation.lessons.model.LessonPlanSummary(lp.id, lp.title, lp.presentable) "
+            + "from LessonPlanEntity lp where lp.id in :ids")
+    List<LessonPlanSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Saves a lessonPlan.
      *
@@ -16,8 +16,13 @@
 
 package com.starfireaviation.lessons.model;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,11 +39,20 @@ public interface LessonRepository extends Repository<LessonEntity, Long> {
     void delete(LessonEntity lesson);
 
     /**
-     * Gets all lesson.
+     * Deletes lessons.
      *
+     * @param lessons LessonEntities
+     */
+    void deleteAll(Iterable<? extends LessonEntity> lessons);
+
+    /**
+     * Gets a page of LessonEntity, ordered by ID, starting after the given ID.
+     *
+     * @param id ID to start after
+     * @param pageable page size
      * @return list of LessonEntity
      */
-    List<LessonEntity> findAll();
+    List<LessonEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
 
     /**
      * Gets a lesson.
@@ -49,12 +63,40 @@ public interface LessonRepository extends Repository<LessonEntity, Long> {
     Optional<LessonEntity> findById(Long id);
 
     /**
-     * Finds Lesson by group.
+     * Gets every lesson ID.
+     *
+     * @return list of IDs
+     */
+    @Query("select l.id from LessonEntity l")
+    List<Long> findAllIds();
+
+    /**
+     * Gets all entities for the given IDs.
+     *
+     * @param ids IDs
+     * @return list of LessonEntity
+     */
+    List<LessonEntity> findAllById(Iterable<Long> ids);
+
+    /**
+     * Gets the IDs of the lessons in a group, ordered by chapter.
+     *
+     * @param group group
+     * @return list of Lesson IDs
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select l.id from LessonEntity l where l.group = :group order by l.chapter")
+    List<Long> findIdsByGroup(@Param("group") String group);
+
+    /**
+     * Gets the table of contents for a group, ordered by chapter. The lesson text is not read.
      *
      * @param group group
-     * @return list of Lesson
+     * @return list of LessonSummary
      */
-    Optional<List<LessonEntity>> findByGroup(String group);
+    @Query("select new com.starfireaviation.lessons.model.LessonSummary(l.id, l.group, l.chapter, l.title, "
+            + "l.required) from LessonEntity l where l.group = :group order by l.chapter")
+    List<LessonSummary> findSummariesByGroup(@Param("group") String group);
 
     /**
      * Saves a lesson.
@@ -63,4 +105,12 @@ public interface LessonRepository extends Repository<LessonEntity, Long> {
      * @return LessonEntity
      */
     LessonEntity save(LessonEntity lesson);
+
+    /**
+     * Saves lessons.
+     *
+     * @param lessons LessonEntities
+     * @return list of LessonEntity
+     */
+    List<LessonEntity> saveAll(Iterable<LessonEntity> lessons);
 }
@@ -0,0 +1,63 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Lesson table of contents entry. Projected straight from the LESSON table, without the lesson text.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LessonSummary implements Serializable {
+
+    /**
+     * Default SerialVersionUID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * ID.
+     */
+    private Long id;
+
+    /**
+     * Group.
+     */
+    private String group;
+
+    /**
+     * Chapter.
+     */
+    private Long chapter;
+
+    /**
+     * Title.
+     */
+    private String title;
+
+    /**
+     * Required.
+     */
+    private boolean required;
+
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Table backed ID generator that hands out IDs from blocks held in memory, so inserts don't need a database round
+ * trip each to get their ID and can be sent as JDBC batches. The block size is read from the
+ * lessons.id.allocation_size Hibernate setting. Tables are used even where the database has sequences, since that
+ * is the schema the migrations create.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Generator strategy, for use in GenericGenerator mappings.
+     */
+    public static final String STRATEGY = "com.starfireaviation.lessons.model.PooledIdGenerator";
+
+    /**
+     * Hibernate setting holding the number of IDs allocated per round trip.
+     */
+    public static final String ALLOCATION_SIZE_SETTING = "lessons.id.allocation_size";
+
+    /**
+     * Default number of IDs allocated per round trip.
+     */
+    private static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    /**
+     * Configures the generator with the configured allocation size, the pooled-lo optimizer and a table.
+     *
+     * @param type identifier type
+     * @param params generator parameters
+     * @param serviceRegistry ServiceRegistry
+     * @throws MappingException when the generator can't be configured
+     */
+    @Override
+    public void configure(final Type type, final Properties params, final ServiceRegistry serviceRegistry)
+            throws MappingException {
+        final int allocationSize = serviceRegistry
+                .getService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(allocationSize));
+        params.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        params.putIfAbsent(FORCE_TBL_PARAM, Boolean.TRUE.toString());
+        super.configure(type, params, serviceRegistry);
+    }
+}
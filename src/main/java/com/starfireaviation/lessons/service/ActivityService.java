@@ -21,9 +21,10 @@ import com.starfireaviation.lessons.model.ActivityEntity;
 import com.starfireaviation.lessons.model.ActivityRepository;
 import com.starfireaviation.lessons.model.LessonPlanActivityRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -62,6 +63,7 @@ public class ActivityService {
      * @return Activity
      * @throws ResourceNotFoundException when resultant activity is not found
      */
+    @Transactional
     public ActivityEntity store(final ActivityEntity activity) throws ResourceNotFoundException {
         if (activity == null) {
             return null;
@@ -70,26 +72,31 @@ public class ActivityService {
     }
 
     /**
-     * Deletes an activity.
+     * Deletes an activity, along with its lesson plan links.
      *
      * @param activityId Long
+     * @return IDs of the lesson plans the activity was linked to
      * @throws ResourceNotFoundException when activity is not found
      */
-    public void delete(final Long activityId) throws ResourceNotFoundException {
-        lessonPlanActivityRepository
-                .findByActivityId(activityId)
-                .orElse(new ArrayList<>())
-                .forEach(lessonPlanActivityRepository::delete);
-        activityRepository.delete(get(activityId));
+    @Transactional
+    public List<Long> delete(final Long activityId) throws ResourceNotFoundException {
+        final ActivityEntity activity = get(activityId);
+        final List<Long> lessonPlanIds = lessonPlanActivityRepository.findLessonPlanIdsByActivityId(activityId);
+        lessonPlanActivityRepository.deleteByActivityId(activityId);
+        activityRepository.delete(activity);
+        return lessonPlanIds;
     }
 
     /**
-     * Gets all activities.
+     * Gets a page of activities, ordered by ID.
      *
+     * @param after ID to start after
+     * @param limit page size
      * @return list of Activity
      */
-    public List<ActivityEntity> getAll() {
-        return activityRepository.findAll().orElseThrow();
+    @Transactional(readOnly = true)
+    public List<ActivityEntity> getPage(final long after, final int limit) {
+        return activityRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, limit));
     }
 
     /**
@@ -99,6 +106,7 @@ public class ActivityService {
      * @return Activity
      * @throws ResourceNotFoundException when activity is not found
      */
+    @Transactional(readOnly = true)
     public ActivityEntity get(final long activityId) throws ResourceNotFoundException {
         final ActivityEntity activity = activityRepository.findById(activityId).orElse(null);
         if (activity == null) {
@@ -16,17 +16,116 @@
 
 package com.starfireaviation.lessons.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.starfireaviation.common.model.User;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
+import java.time.Duration;
+
+@Slf4j
 public class DataService {
 
     /**
-     * Gets a user from the User application.
+     * Request attribute name prefix for users resolved during the current request.
+     */
+    private static final String REQUEST_USER_PREFIX = DataService.class.getName() + ".user.";
+
+    /**
+     * RestTemplate.
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * User lookup URL, with a {userName} placeholder.
+     */
+    private final String userUrl;
+
+    /**
+     * Users by username.
+     */
+    private final Cache<String, User> userCache;
+
+    /**
+     * DataService.
+     *
+     * @param rTemplate RestTemplate
+     * @param uUrl User application URL for looking up a user by username, or null when there is none
+     * @param userCacheProps UserCacheProperties
+     */
+    public DataService(final RestTemplate rTemplate,
+                       final String uUrl,
+                       final ApplicationProperties.UserCacheProperties userCacheProps) {
+        restTemplate = rTemplate;
+        userUrl = uUrl;
+        if (userUrl == null || userUrl.isBlank()) {
+            log.warn("No user lookup URL is configured, so users can't be resolved");
+        }
+        userCache = Caffeine
+                .newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(userCacheProps.getTimeToLiveSeconds()))
+                .maximumSize(userCacheProps.getMaxSize())
+                .build();
+    }
+
+    /**
+     * Gets a user. Users are memoized for the current request and cached for a limited time across requests.
      *
      * @param userName username
-     * @return User
+     * @return User or null when not found
      */
     public User getUser(final String userName) {
-        return null;
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            final User user = (User) requestAttributes.getAttribute(
+                    REQUEST_USER_PREFIX + userName, RequestAttributes.SCOPE_REQUEST);
+            if (user != null) {
+                return user;
+            }
+        }
+        final User user = userCache.get(userName, this::fetchUser);
+        if (requestAttributes != null && user != null) {
+            requestAttributes.setAttribute(REQUEST_USER_PREFIX + userName, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Evicts a cached user, such as after a role change.
+     *
+     * @param userName username
+     */
+    public void evictUser(final String userName) {
+        userCache.invalidate(userName);
+    }
+
+    /**
+     * Evicts all cached users.
+     */
+    public void evictAllUsers() {
+        userCache.invalidateAll();
+    }
+
+    /**
+     * Gets a user from the User application. Unknown users aren't cached, and neither are failed lookups, whose
+     * exceptions reach the caller.
+     *
+     * @param userName username
+     * @return User or null when not found
+     */
+    private User fetchUser(final String userName) {
+        if (userUrl == null || userUrl.isBlank()) {
+            return null;
+        }
+        try {
+            return restTemplate.getForObject(userUrl, User.class, userName);
+        } catch (HttpClientErrorException.NotFound nfe) {
+            return null;
+        }
     }
 }
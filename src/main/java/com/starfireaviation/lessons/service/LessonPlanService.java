@@ -23,11 +23,19 @@ import com.starfireaviation.lessons.model.LessonPlanEntity;
 import com.starfireaviation.lessons.model.LessonPlanLesson;
 import com.starfireaviation.lessons.model.LessonPlanLessonRepository;
 import com.starfireaviation.lessons.model.LessonPlanRepository;
+import com.starfireaviation.lessons.model.LessonPlanSummary;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -73,6 +81,7 @@ public class LessonPlanService {
      * @return LessonPlan
      * @throws ResourceNotFoundException when resultant lesson plan is not found
      */
+    @Transactional
     public LessonPlanEntity store(final LessonPlanEntity lessonPlan) throws ResourceNotFoundException {
         if (lessonPlan == null) {
             return null;
@@ -81,26 +90,67 @@ public class LessonPlanService {
     }
 
     /**
-     * Deletes a lessonPlan.
+     * Updates a lessonPlan and its lesson and activity links in one transaction.
+     *
+     * @param lessonPlan LessonPlan
+     * @param lessonIds Lesson IDs
+     * @param activityIds Activity IDs
+     * @return LessonPlan
+     * @throws ResourceNotFoundException when resultant lesson plan is not found
+     */
+    @Transactional
+    public LessonPlanEntity update(final LessonPlanEntity lessonPlan, final List<Long> lessonIds,
+                                   final List<Long> activityIds) throws ResourceNotFoundException {
+        final LessonPlanEntity updatedLessonPlan = store(lessonPlan);
+        linkLessons(updatedLessonPlan.getId(), lessonIds);
+        linkActivities(updatedLessonPlan.getId(), activityIds);
+        return updatedLessonPlan;
+    }
+
+    /**
+     * Deletes a lessonPlan, along with its activity and lesson links.
      *
      * @param lessonPlanId Long
      * @throws ResourceNotFoundException when lesson plan is not found
      */
+    @Transactional
     public void delete(final Long lessonPlanId) throws ResourceNotFoundException {
-        lessonPlanActivityRepository
-                .findByLessonPlanId(lessonPlanId)
-                .orElse(new ArrayList<>())
-                .forEach(lessonPlanActivityRepository::delete);
-        lessonPlanRepository.delete(get(lessonPlanId));
+        final LessonPlanEntity lessonPlan = get(lessonPlanId);
+        lessonPlanActivityRepository.deleteByLessonPlanId(lessonPlanId);
+        lessonPlanLessonRepository.deleteByLessonPlanId(lessonPlanId);
+        lessonPlanRepository.delete(lessonPlan);
+    }
+
+    /**
+     * Gets a page of lesson plan IDs, in order. Only the ID column is read, so even a page of the maximum size is a
+     * few kilobytes.
+     *
+     * @param presentableOnly only return presentable lesson plans
+     * @param after ID to start after
+     * @param limit page size
+     * @return list of LessonPlan IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getIdPage(final boolean presentableOnly, final long after, final int limit) {
+        if (presentableOnly) {
+            return lessonPlanRepository.findIdsByPresentableAfter(true, after, PageRequest.of(0, limit));
+        }
+        return lessonPlanRepository.findIdsAfter(after, PageRequest.of(0, limit));
     }
 
     /**
-     * Gets all lessonPlan.
+     * Gets summaries of the given lesson plans. Not read-only, so it reads from the primary; the summaries are
+     * cached.
      *
-     * @return list of LessonPlan
+     * @param lessonPlanIds LessonPlan IDs
+     * @return list of LessonPlanSummary
      */
-    public List<LessonPlanEntity> getAll() {
-        return lessonPlanRepository.findAll().orElseThrow();
+    @Transactional
+    public List<LessonPlanSummary> getSummaries(final Collection<Long> lessonPlanIds) {
+        if (lessonPlanIds.isEmpty()) {
+            return List.of();
+        }
+        return lessonPlanRepository.findSummariesByIdIn(lessonPlanIds);
     }
 
     /**
@@ -110,6 +160,7 @@ public class LessonPlanService {
      * @return LessonPlan
      * @throws ResourceNotFoundException when lesson plan is not found
      */
+    @Transactional(readOnly = true)
     public LessonPlanEntity get(final long lessonPlanId) throws ResourceNotFoundException {
         final LessonPlanEntity lessonPlan = lessonPlanRepository.findById(lessonPlanId).orElse(null);
         if (lessonPlan == null) {
@@ -119,11 +170,13 @@ public class LessonPlanService {
     }
 
     /**
-     * Gets list of Activity IDs for the given LessonPlan.
+     * Gets list of Activity IDs for the given LessonPlan. Not read-only, so it reads from the primary and sees links
+     * written just before, e.g. when a lesson plan is mapped after an update.
      *
      * @param lessonPlanId LessonPlan ID
      * @return list of Activity IDs
      */
+    @Transactional
     public List<Long> getActivityIdsForLessonPlan(final Long lessonPlanId) {
         return lessonPlanActivityRepository
                 .findByLessonPlanId(lessonPlanId)
@@ -134,11 +187,13 @@ public class LessonPlanService {
     }
 
     /**
-     * Gets list of Lesson IDs for the given LessonPlan.
+     * Gets list of Lesson IDs for the given LessonPlan. Not read-only, so it reads from the primary and sees links
+     * written just before, e.g. when a lesson plan is mapped after an update.
      *
      * @param lessonPlanId LessonPlan ID
      * @return list of Lesson IDs
      */
+    @Transactional
     public List<Long> getLessonIdsForLessonPlan(final Long lessonPlanId) {
         return lessonPlanLessonRepository
                 .findByLessonPlanId(lessonPlanId)
@@ -149,70 +204,113 @@ public class LessonPlanService {
     }
 
     /**
-     * Links Activity to a LessonPlan.
+     * Gets the Activity IDs for each of the given LessonPlans, with one query for all of them. Not read-only, so it
+     * reads from the primary when loading lesson plans into the cache.
+     *
+     * @param lessonPlanIds LessonPlan IDs
+     * @return list of Activity IDs, keyed by LessonPlan ID (absent when a LessonPlan has none)
+     */
+    @Transactional
+    public Map<Long, List<Long>> getActivityIdsForLessonPlans(final Collection<Long> lessonPlanIds) {
+        if (lessonPlanIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return lessonPlanActivityRepository
+                .findByLessonPlanIdIn(lessonPlanIds)
+                .stream()
+                .collect(Collectors.groupingBy(LessonPlanActivity::getLessonPlanId,
+                        Collectors.mapping(LessonPlanActivity::getActivityId, Collectors.toList())));
+    }
+
+    /**
+     * Gets the Lesson IDs for each of the given LessonPlans, with one query for all of them. Not read-only, so it
+     * reads from the primary when loading lesson plans into the cache.
+     *
+     * @param lessonPlanIds LessonPlan IDs
+     * @return list of Lesson IDs, keyed by LessonPlan ID (absent when a LessonPlan has none)
+     */
+    @Transactional
+    public Map<Long, List<Long>> getLessonIdsForLessonPlans(final Collection<Long> lessonPlanIds) {
+        if (lessonPlanIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return lessonPlanLessonRepository
+                .findByLessonPlanIdIn(lessonPlanIds)
+                .stream()
+                .collect(Collectors.groupingBy(LessonPlanLesson::getLessonPlanId,
+                        Collectors.mapping(LessonPlanLesson::getLessonId, Collectors.toList())));
+    }
+
+    /**
+     * Links Activity to a LessonPlan. Links not in the given list (and duplicate links) are removed with a single bulk
+     * delete and missing links are inserted together, all in one transaction.
      *
      * @param lessonPlanId LessonPlan ID
      * @param activityIds list of Activity IDs
      */
+    @Transactional
     public void linkActivities(final Long lessonPlanId, final List<Long> activityIds) {
-        final List<Long> existingLinkedActivities = lessonPlanActivityRepository
+        final Set<Long> toBeLinked = new LinkedHashSet<>(activityIds);
+        final Set<Long> linked = new HashSet<>();
+        final List<Long> toBeUnlinked = new ArrayList<>();
+        for (final LessonPlanActivity lessonPlanActivity : lessonPlanActivityRepository
                 .findByLessonPlanId(lessonPlanId)
-                .orElse(new ArrayList<>())
-                .stream()
-                .map(LessonPlanActivity::getActivityId)
-                .collect(Collectors.toList());
-        final List<Long> toBeLinked = new ArrayList<>(activityIds);
-        toBeLinked.removeAll(existingLinkedActivities);
-        for (final Long activityId : toBeLinked) {
-            final Optional<LessonPlanActivity> lessonPlanActivityOpt =
-                    lessonPlanActivityRepository.findByLessonPlanIdAndActivityId(lessonPlanId, activityId);
-            if (lessonPlanActivityOpt.isEmpty()) {
-                final LessonPlanActivity lessonPlanActivity = new LessonPlanActivity();
-                lessonPlanActivity.setActivityId(activityId);
-                lessonPlanActivity.setLessonPlanId(lessonPlanId);
-                lessonPlanActivityRepository.save(lessonPlanActivity);
+                .orElse(new ArrayList<>())) {
+            if (!toBeLinked.contains(lessonPlanActivity.getActivityId())
+                    || !linked.add(lessonPlanActivity.getActivityId())) {
+                toBeUnlinked.add(lessonPlanActivity.getId());
             }
         }
-        final List<Long> toBeUnlinked = new ArrayList<>(existingLinkedActivities);
-        toBeUnlinked.removeAll(activityIds);
-        for (final Long activityId : toBeUnlinked) {
-            lessonPlanActivityRepository
-                    .findByLessonPlanIdAndActivityId(lessonPlanId, activityId)
-                    .ifPresent(lessonPlanActivityRepository::delete);
+        toBeLinked.removeAll(linked);
+        if (!toBeUnlinked.isEmpty()) {
+            lessonPlanActivityRepository.deleteByIdIn(toBeUnlinked);
+        }
+        if (!toBeLinked.isEmpty()) {
+            lessonPlanActivityRepository.saveAll(toBeLinked
+                    .stream()
+                    .map(activityId -> {
+                        final LessonPlanActivity lessonPlanActivity = new LessonPlanActivity();
+                        lessonPlanActivity.setActivityId(activityId);
+                        lessonPlanActivity.setLessonPlanId(lessonPlanId);
+                        return lessonPlanActivity;
+                    })
+                    .collect(Collectors.toList()));
         }
     }
 
     /**
-     * (Un)Links Lesson to a LessonPlan.
+     * (Un)Links Lesson to a LessonPlan. Links not in the given list (and duplicate links) are removed with a single
+     * bulk delete and missing links are inserted together, all in one transaction.
      *
      * @param lessonPlanId LessonPlan ID
      * @param lessonIds list of Lesson IDs
      */
+    @Transactional
     public void linkLessons(final Long lessonPlanId, final List<Long> lessonIds) {
-        final List<Long> existingLinkedLessons = lessonPlanLessonRepository
+        final Set<Long> toBeLinked = new LinkedHashSet<>(lessonIds);
+        final Set<Long> linked = new HashSet<>();
+        final List<Long> toBeUnlinked = new ArrayList<>();
+        for (final LessonPlanLesson lessonPlanLesson : lessonPlanLessonRepository
                 .findByLessonPlanId(lessonPlanId)
-                .orElse(new ArrayList<>())
-                .stream()
-                .map(LessonPlanLesson::getLessonId)
-                .collect(Collectors.toList());
-        final List<Long> toBeLinked = new ArrayList<>(lessonIds);
-        toBeLinked.removeAll(existingLinkedLessons);
-        for (final Long lessonId : toBeLinked) {
-            final Optional<LessonPlanLesson> lessonPlanLessonOpt =
-                    lessonPlanLessonRepository.findByLessonPlanIdAndLessonId(lessonPlanId, lessonId);
-            if (lessonPlanLessonOpt.isEmpty()) {
-                final LessonPlanLesson lessonPlanLesson = new LessonPlanLesson();
-                lessonPlanLesson.setLessonId(lessonId);
-                lessonPlanLesson.setLessonPlanId(lessonPlanId);
-                lessonPlanLessonRepository.save(lessonPlanLesson);
+                .orElse(new ArrayList<>())) {
+            if (!toBeLinked.contains(lessonPlanLesson.getLessonId()) || !linked.add(lessonPlanLesson.getLessonId())) {
+                toBeUnlinked.add(lessonPlanLesson.getId());
             }
         }
-        final List<Long> toBeUnlinked = new ArrayList<>(existingLinkedLessons);
-        toBeUnlinked.removeAll(lessonIds);
-        for (final Long lessonId : toBeUnlinked) {
-            lessonPlanLessonRepository
-                    .findByLessonPlanIdAndLessonId(lessonPlanId, lessonId)
-                    .ifPresent(lessonPlanLessonRepository::delete);
+        toBeLinked.removeAll(linked);
+        if (!toBeUnlinked.isEmpty()) {
+            lessonPlanLessonRepository.deleteByIdIn(toBeUnlinked);
+        }
+        if (!toBeLinked.isEmpty()) {
+            lessonPlanLessonRepository.saveAll(toBeLinked
+                    .stream()
+                    .map(lessonId -> {
+                        final LessonPlanLesson lessonPlanLesson = new LessonPlanLesson();
+                        lessonPlanLesson.setLessonId(lessonId);
+                        lessonPlanLesson.setLessonPlanId(lessonPlanId);
+                        return lessonPlanLesson;
+                    })
+                    .collect(Collectors.toList()));
         }
     }
 }
@@ -18,8 +18,13 @@ package com.starfireaviation.lessons.service;
 
 import com.starfireaviation.common.exception.ResourceNotFoundException;
 import com.starfireaviation.lessons.model.LessonEntity;
+import com.starfireaviation.lessons.model.LessonPlanLessonRepository;
 import com.starfireaviation.lessons.model.LessonRepository;
+import com.starfireaviation.lessons.model.LessonSummary;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -32,13 +37,20 @@ public class LessonService {
      */
     private final LessonRepository lessonRepository;
 
+    /**
+     * LessonPlanLessonRepository.
+     */
+    private final LessonPlanLessonRepository lessonPlanLessonRepository;
+
     /**
      * LessonService.
      *
      * @param lRepository LessonRepository
+     * @param lplRepository LessonPlanLessonRepository
      */
-    public LessonService(final LessonRepository lRepository) {
+    public LessonService(final LessonRepository lRepository, final LessonPlanLessonRepository lplRepository) {
         lessonRepository = lRepository;
+        lessonPlanLessonRepository = lplRepository;
     }
 
     /**
@@ -47,31 +59,57 @@ public class LessonService {
      * @param lesson Lesson
      * @return Lesson
      */
+    @Transactional
     public LessonEntity store(final LessonEntity lesson) {
         return lessonRepository.save(lesson);
     }
 
     /**
-     * Deletes a lesson.
+     * Creates or updates a batch of lessons.
+     *
+     * @param lessons Lessons
+     * @return Lessons
+     */
+    @Transactional
+    public List<LessonEntity> storeAll(final Collection<LessonEntity> lessons) {
+        return lessonRepository.saveAll(lessons);
+    }
+
+    /**
+     * Deletes the given lessons, ignoring any that no longer exist. Their lesson plan links are left in place.
+     *
+     * @param ids Lesson IDs
+     */
+    @Transactional
+    public void deleteAllById(final Collection<Long> ids) {
+        lessonRepository.deleteAll(lessonRepository.findAllById(ids));
+    }
+
+    /**
+     * Deletes a lesson, along with its lesson plan links.
      *
      * @param id Long
-     * @return Lesson
+     * @return IDs of the lesson plans the lesson was linked to
      */
-    public LessonEntity delete(final Long id) {
+    @Transactional
+    public List<Long> delete(final Long id) {
         final LessonEntity lesson = get(id);
-        if (lesson != null) {
-            lessonRepository.delete(lesson);
-        }
-        return lesson;
+        final List<Long> lessonPlanIds = lessonPlanLessonRepository.findLessonPlanIdsByLessonId(id);
+        lessonPlanLessonRepository.deleteByLessonId(id);
+        lessonRepository.delete(lesson);
+        return lessonPlanIds;
     }
 
     /**
-     * Gets all lesson.
+     * Gets a page of lessons, ordered by ID.
      *
+     * @param after ID to start after
+     * @param limit page size
      * @return list of Lesson
      */
-    public List<LessonEntity> getAll() {
-        return lessonRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<LessonEntity> getPage(final long after, final int limit) {
+        return lessonRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, limit));
     }
 
     /**
@@ -80,22 +118,41 @@ public class LessonService {
      * @param id Long
      * @return Lesson
      */
+    @Transactional(readOnly = true)
     public LessonEntity get(final Long id) {
         return lessonRepository.findById(id).orElseThrow();
     }
 
     /**
-     * Gets all lessons for the given course.
+     * Gets the IDs of the lessons for the given course, ordered by chapter. Not read-only, so it reads from the
+     * primary; the IDs are used to fill the group cache.
      *
      * @param group name
-     * @return list of Lesson
+     * @return list of Lesson IDs
+     * @throws ResourceNotFoundException when course is not found
+     */
+    @Transactional
+    public List<Long> getLessonIdsByGroup(final String group) throws ResourceNotFoundException {
+        if (group == null) {
+            throw new ResourceNotFoundException(String.format("No group found for [%s]", group));
+        }
+        return lessonRepository.findIdsByGroup(group);
+    }
+
+    /**
+     * Gets the table of contents for the given course, ordered by chapter. Not read-only, so it reads from the
+     * primary; the summaries are cached.
+     *
+     * @param group name
+     * @return list of LessonSummary
      * @throws ResourceNotFoundException when course is not found
      */
-    public List<LessonEntity> getLessonsByGroup(final String group) throws ResourceNotFoundException {
+    @Transactional
+    public List<LessonSummary> getSummariesByGroup(final String group) throws ResourceNotFoundException {
         if (group == null) {
             throw new ResourceNotFoundException(String.format("No group found for [%s]", group));
         }
-        return lessonRepository.findByGroup(group).orElseThrow();
+        return lessonRepository.findSummariesByGroup(group);
     }
 
 }
@@ -0,0 +1,59 @@
+-- Schema as previously created by Hibernate (ddl-auto: update). Existing databases are baselined at this version.
+
+CREATE TABLE activity (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    created_at   DATETIME(6)  NOT NULL,
+    updated_at   DATETIME(6)  NOT NULL,
+    title        VARCHAR(100),
+    duration     BIGINT       NOT NULL,
+    type         VARCHAR(100),
+    reference_id BIGINT,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE lesson (
+    id         BIGINT        NOT NULL AUTO_INCREMENT,
+    created_at DATETIME(6)   NOT NULL,
+    updated_at DATETIME(6)   NOT NULL,
+    grp        VARCHAR(255)  NOT NULL,
+    unit       BIGINT        NOT NULL,
+    title      VARCHAR(255),
+    text       VARCHAR(4000),
+    required   BIT           NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE lesson_plan (
+    id                   BIGINT        NOT NULL AUTO_INCREMENT,
+    created_at           DATETIME(6)   NOT NULL,
+    updated_at           DATETIME(6)   NOT NULL,
+    title                VARCHAR(255)  NOT NULL,
+    summary              VARCHAR(2000) NOT NULL,
+    objective            VARCHAR(2000),
+    content              VARCHAR(2000),
+    schedule             VARCHAR(2000),
+    equipment            VARCHAR(2000),
+    instructor_actions   VARCHAR(2000),
+    student_actions      VARCHAR(2000),
+    completion_standards VARCHAR(2000),
+    presentable          BIT           NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE lesson_plan_activity (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at     DATETIME(6) NOT NULL,
+    updated_at     DATETIME(6) NOT NULL,
+    lesson_plan_id BIGINT      NOT NULL,
+    activity_id    BIGINT      NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE lesson_plan_lesson (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    created_at     DATETIME(6) NOT NULL,
+    updated_at     DATETIME(6) NOT NULL,
+    lesson_plan_id BIGINT      NOT NULL,
+    lesson_id      BIGINT      NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,43 @@
+-- ID allocation tables for the pooled ID generator, starting past the highest ID in use.
+
+CREATE TABLE activity_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO activity_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM activity;
+
+CREATE TABLE lesson_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO lesson_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM lesson;
+
+CREATE TABLE lesson_plan_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO lesson_plan_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM lesson_plan;
+
+CREATE TABLE lesson_plan_activity_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO lesson_plan_activity_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM lesson_plan_activity;
+
+CREATE TABLE lesson_plan_lesson_seq (next_val BIGINT) ENGINE = InnoDB;
+INSERT INTO lesson_plan_lesson_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM lesson_plan_lesson;
+
+-- Remove duplicate links, keeping the oldest, so the unique constraints can be added. The grouped derived table is
+-- materialized, which lets MySQL delete from the table it reads.
+
+DELETE FROM lesson_plan_activity WHERE id NOT IN (
+    SELECT id FROM (
+        SELECT MIN(id) AS id FROM lesson_plan_activity GROUP BY lesson_plan_id, activity_id
+    ) original
+);
+
+DELETE FROM lesson_plan_lesson WHERE id NOT IN (
+    SELECT id FROM (
+        SELECT MIN(id) AS id FROM lesson_plan_lesson GROUP BY lesson_plan_id, lesson_id
+    ) original
+);
+
+-- Unique links double as the indexes for lookups by lesson plan; the reverse lookups get their own.
+
+ALTER TABLE lesson_plan_activity ADD CONSTRAINT UK_LESSON_PLAN_ACTIVITY UNIQUE (lesson_plan_id, activity_id);
+CREATE INDEX IDX_LESSON_PLAN_ACTIVITY_ACTIVITY ON lesson_plan_activity (activity_id);
+
+ALTER TABLE lesson_plan_lesson ADD CONSTRAINT UK_LESSON_PLAN_LESSON UNIQUE (lesson_plan_id, lesson_id);
+CREATE INDEX IDX_LESSON_PLAN_LESSON_LESSON ON lesson_plan_lesson (lesson_id);
+
+CREATE INDEX IDX_LESSON_GROUP_UNIT ON lesson (grp, unit);
+
+CREATE INDEX IDX_LESSON_PLAN_PRESENTABLE ON lesson_plan (presentable);
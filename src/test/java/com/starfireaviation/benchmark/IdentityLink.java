@@ -0,0 +1,54 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.starfireaviation.benchmark;
+
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * Join row with an IDENTITY generated ID, the way the entities were mapped before IDs were pooled. Used as the
+ * baseline by IdGenerationBenchmarkTest. Kept outside the application's packages so only that test maps it.
+ */
+@Data
+@Entity
+@Table(name = "IDENTITY_LINK_BENCHMARK")
+public class IdentityLink {
+
+    /**
+     * ID.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * LessonPlan ID.
+     */
+    @Column(name = "lesson_plan_id", nullable = false)
+    private Long lessonPlanId;
+
+    /**
+     * Activity ID.
+     */
+    @Column(name = "activity_id", nullable = false)
+    private Long activityId;
+}
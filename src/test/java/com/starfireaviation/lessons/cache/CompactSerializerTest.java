@@ -0,0 +1,196 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.starfireaviation.common.model.Activity;
+import com.starfireaviation.common.model.ActivityType;
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.common.model.LessonPlan;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Round-trips each cached model through its compact serializer. Maps store values in binary form, so a get returns
+ * a copy read back from the serialized bytes.
+ */
+class CompactSerializerTest {
+
+    /**
+     * Creation time.
+     */
+    private static final Date CREATED_AT = new Date(1_600_000_000_000L);
+
+    /**
+     * Update time.
+     */
+    private static final Date UPDATED_AT = new Date(1_600_000_360_000L);
+
+    /**
+     * Activity duration.
+     */
+    private static final long DURATION = 45L;
+
+    private static HazelcastInstance hazelcastInstance;
+
+    @BeforeAll
+    static void startHazelcast() {
+        final Config config = new Config().setClusterName("compact-serializer-test");
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig().getCompactSerializationConfig()
+                .addSerializer(new LessonCompactSerializer())
+                .addSerializer(new LessonPlanCompactSerializer())
+                .addSerializer(new ActivityCompactSerializer());
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterAll
+    static void stopHazelcast() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Test
+    void lessonRoundTrips() {
+        final Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        lesson.setGroup("PVT");
+        lesson.setChapter(3L);
+        lesson.setTitle("Stalls");
+        lesson.setText("Power-off and power-on stalls");
+        lesson.setRequired(true);
+        lesson.setCreatedAt(CREATED_AT);
+        lesson.setUpdatedAt(UPDATED_AT);
+
+        final Lesson copy = roundTrip("lessons", lesson.getId(), lesson);
+        assertEquals(lesson.getId(), copy.getId());
+        assertEquals(lesson.getGroup(), copy.getGroup());
+        assertEquals(lesson.getChapter(), copy.getChapter());
+        assertEquals(lesson.getTitle(), copy.getTitle());
+        assertEquals(lesson.getText(), copy.getText());
+        assertTrue(copy.isRequired());
+        assertEquals(CREATED_AT, copy.getCreatedAt());
+        assertEquals(UPDATED_AT, copy.getUpdatedAt());
+    }
+
+    @Test
+    void lessonWithoutOptionalFieldsRoundTrips() {
+        final Lesson lesson = new Lesson();
+        lesson.setId(2L);
+
+        final Lesson copy = roundTrip("lessons", lesson.getId(), lesson);
+        assertEquals(lesson.getId(), copy.getId());
+        assertNull(copy.getGroup());
+        assertNull(copy.getChapter());
+        assertNull(copy.getCreatedAt());
+        assertNull(copy.getUpdatedAt());
+    }
+
+    @Test
+    void lessonPlanRoundTrips() {
+        final LessonPlan lessonPlan = new LessonPlan();
+        lessonPlan.setId(1L);
+        lessonPlan.setActivityIds(List.of(4L, 5L, 6L));
+        lessonPlan.setLessonIds(List.of(7L));
+        lessonPlan.setTitle("Slow flight and stalls");
+        lessonPlan.setObjective("Recognize and recover from stalls");
+        lessonPlan.setCompletionStandards("Altitude within 100 feet");
+
+        final LessonPlan copy = roundTrip("lessonplans", lessonPlan.getId(), lessonPlan);
+        assertEquals(lessonPlan.getId(), copy.getId());
+        assertEquals(List.of(4L, 5L, 6L), copy.getActivityIds());
+        assertEquals(List.of(7L), copy.getLessonIds());
+        assertEquals(lessonPlan.getTitle(), copy.getTitle());
+        assertEquals(lessonPlan.getObjective(), copy.getObjective());
+        assertEquals(lessonPlan.getCompletionStandards(), copy.getCompletionStandards());
+        assertNull(copy.getSummary());
+    }
+
+    @Test
+    void lessonPlanKeepsNullAndEmptyIdLists() {
+        final LessonPlan withoutLinks = new LessonPlan();
+        withoutLinks.setId(2L);
+        final LessonPlan unlinked = roundTrip("lessonplans", withoutLinks.getId(), withoutLinks);
+        assertNull(unlinked.getActivityIds());
+        assertNull(unlinked.getLessonIds());
+
+        final LessonPlan withEmptyLinks = new LessonPlan();
+        withEmptyLinks.setId(3L);
+        withEmptyLinks.setActivityIds(List.of());
+        withEmptyLinks.setLessonIds(List.of());
+        final LessonPlan empty = roundTrip("lessonplans", withEmptyLinks.getId(), withEmptyLinks);
+        assertEquals(List.of(), empty.getActivityIds());
+        assertEquals(List.of(), empty.getLessonIds());
+    }
+
+    @Test
+    void activityRoundTrips() {
+        final Activity activity = new Activity();
+        activity.setId(1L);
+        activity.setTitle("Preflight");
+        activity.setDuration(DURATION);
+        activity.setActivityType(ActivityType.values()[0]);
+        activity.setReferenceId(9L);
+        activity.setCreatedAt(CREATED_AT);
+        activity.setUpdatedAt(UPDATED_AT);
+
+        final Activity copy = roundTrip("activities", activity.getId(), activity);
+        assertEquals(activity.getId(), copy.getId());
+        assertEquals(activity.getTitle(), copy.getTitle());
+        assertEquals(activity.getDuration(), copy.getDuration());
+        assertEquals(activity.getActivityType(), copy.getActivityType());
+        assertEquals(activity.getReferenceId(), copy.getReferenceId());
+        assertEquals(CREATED_AT, copy.getCreatedAt());
+        assertEquals(UPDATED_AT, copy.getUpdatedAt());
+    }
+
+    @Test
+    void activityWithoutOptionalFieldsRoundTrips() {
+        final Activity activity = new Activity();
+        activity.setId(2L);
+        activity.setDuration(DURATION);
+
+        final Activity copy = roundTrip("activities", activity.getId(), activity);
+        assertEquals(activity.getId(), copy.getId());
+        assertNull(copy.getActivityType());
+        assertNull(copy.getReferenceId());
+        assertNull(copy.getCreatedAt());
+        assertNull(copy.getUpdatedAt());
+    }
+
+    private static <V> V roundTrip(final String mapName, final Long key, final V value) {
+        final IMap<Long, V> map = hazelcastInstance.getMap(mapName);
+        map.set(key, value);
+        final V copy = map.get(key);
+        assertNotSame(value, copy);
+        return copy;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.cache;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapLoader;
+import com.starfireaviation.common.model.Lesson;
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TwoTierCacheTest {
+
+    /**
+     * Number of concurrent requests.
+     */
+    private static final int REQUESTS = 32;
+
+    /**
+     * Upper bound on any wait in these tests.
+     */
+    private static final long TIMEOUT_SECONDS = 5;
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MapLoader<Long, Lesson> loader = new MapLoader<>() {
+            @Override
+            public Lesson load(final Long key) {
+                loads.incrementAndGet();
+                loading.countDown();
+                try {
+                    assertTrue(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                final Lesson lesson = new Lesson();
+                lesson.setId(key);
+                return lesson;
+            }
+
+            @Override
+            public Map<Long, Lesson> loadAll(final Collection<Long> keys) {
+                final Map<Long, Lesson> lessons = new HashMap<>();
+                keys.forEach(key -> lessons.put(key, load(key)));
+                return lessons;
+            }
+
+            @Override
+            public Iterable<Long> loadAllKeys() {
+                return null;
+            }
+        };
+        final HazelcastInstance hazelcastInstance = Hazelcast.newHazelcastInstance(standalone(loader));
+        try {
+            final TwoTierCache<Lesson> cache = new TwoTierCache<>(hazelcastInstance.getMap("lessons"),
+                    new ApplicationProperties.L1Properties(), new SimpleMeterRegistry());
+
+            final Lesson[] results = new Lesson[REQUESTS];
+            final List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                final int request = i;
+                threads.add(new Thread(() -> results[request] = cache.get(1L)));
+            }
+            threads.forEach(Thread::start);
+            assertTrue(loading.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            // Only release the load once every request is parked, either in it or waiting on it
+            awaitParked(threads);
+            release.countDown();
+            for (final Thread thread : threads) {
+                thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+            }
+
+            assertEquals(1, loads.get());
+            // Every map get returns its own copy, so one shared instance means one map lookup
+            assertEquals(1L, results[0].getId());
+            for (final Lesson result : results) {
+                assertSame(results[0], result);
+            }
+        } finally {
+            hazelcastInstance.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void l1ServesRepeatReads() {
+        final Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        final AtomicInteger loads = new AtomicInteger();
+        final IMap<Long, Lesson> map = mock(IMap.class);
+        when(map.getName()).thenReturn("lessons");
+        when(map.get(anyLong())).thenAnswer(invocation -> {
+            loads.incrementAndGet();
+            return lesson;
+        });
+        final TwoTierCache<Lesson> cache = new TwoTierCache<>(map, l1Enabled(), new SimpleMeterRegistry());
+
+        assertSame(lesson, cache.get(1L));
+        assertSame(lesson, cache.get(1L));
+        assertEquals(1, loads.get());
+
+        cache.delete(1L);
+        assertSame(lesson, cache.get(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedLoadIsNotRemembered() {
+        final IMap<Long, Lesson> map = mock(IMap.class);
+        when(map.getName()).thenReturn("lessons");
+        when(map.get(anyLong())).thenThrow(new IllegalStateException("down")).thenReturn(null);
+        final TwoTierCache<Lesson> cache =
+                new TwoTierCache<>(map, new ApplicationProperties.L1Properties(), new SimpleMeterRegistry());
+
+        assertThrows(IllegalStateException.class, () -> cache.get(1L));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void invalidationDuringLoadKeepsValueOutOfL1() {
+        final Lesson lesson = new Lesson();
+        lesson.setId(1L);
+        final AtomicInteger loads = new AtomicInteger();
+        final IMap<Long, Lesson> map = mock(IMap.class);
+        when(map.getName()).thenReturn("lessons");
+        final TwoTierCache<Lesson> cache = new TwoTierCache<>(map, l1Enabled(), new SimpleMeterRegistry());
+        when(map.get(anyLong())).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                // Another thread updates the lesson after this read
+                cache.putTransient(1L, lesson);
+            }
+            return lesson;
+        });
+
+        assertSame(lesson, cache.get(1L));
+        assertSame(lesson, cache.get(1L));
+        assertEquals(2, loads.get());
+        assertSame(lesson, cache.get(1L));
+        assertEquals(2, loads.get());
+    }
+
+    private static void awaitParked(final List<Thread> threads) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        for (final Thread thread : threads) {
+            while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+                assertTrue(System.nanoTime() - deadline < 0, "request never joined the lookup");
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static Config standalone(final MapLoader<Long, Lesson> loader) {
+        final Config config = new Config().setClusterName("two-tier-cache-test");
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        config.getSerializationConfig().getCompactSerializationConfig().addSerializer(new LessonCompactSerializer());
+        config.addMapConfig(new MapConfig("lessons").setMapStoreConfig(new MapStoreConfig()
+                .setEnabled(true)
+                .setInitialLoadMode(MapStoreConfig.InitialLoadMode.LAZY)
+                .setImplementation(loader)));
+        return config;
+    }
+
+    private static ApplicationProperties.L1Properties l1Enabled() {
+        final ApplicationProperties.L1Properties l1Props = new ApplicationProperties.L1Properties();
+        l1Props.setEnabled(true);
+        return l1Props;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private JdbcTemplate replicaTemplate;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readOnly;
+
+    private TransactionTemplate readWrite;
+
+    private ApplicationProperties.ReplicaProperties props;
+
+    @BeforeEach
+    void setUp() {
+        final DataSource primary = database("primary");
+        final DataSource replica = database("replica");
+        replicaTemplate = new JdbcTemplate(replica);
+        replicaTemplate.execute("create table replica_lag (seconds int)");
+        replicaTemplate.update("insert into replica_lag values (0)");
+
+        props = new ApplicationProperties.ReplicaProperties();
+        props.setLagCheckIntervalSeconds(0);
+        props.setLagQuery("select seconds as lag_seconds from replica_lag");
+        props.setLagColumn("lag_seconds");
+        final DataSource dataSource = ReplicaRoutingDataSource.lazy(primary, replica,
+                new ReplicaLagMonitor(replica, props));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> server()));
+        assertEquals("primary", server());
+    }
+
+    @Test
+    void readOnlyTransactionsCanBeSentToPrimary() {
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> readOnly.execute(status -> server())));
+        assertEquals("replica", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void laggingReplicaFallsBackToPrimary() {
+        replicaTemplate.update("update replica_lag set seconds = ?", props.getMaxLagSeconds() + 1);
+        assertEquals("primary", readOnly.execute(status -> server()));
+
+        replicaTemplate.update("update replica_lag set seconds = ?", props.getMaxLagSeconds());
+        assertEquals("replica", readOnly.execute(status -> server()));
+    }
+
+    @Test
+    void replicaWithoutLagFallsBackToPrimary() {
+        replicaTemplate.update("update replica_lag set seconds = null");
+        assertEquals("primary", readOnly.execute(status -> server()));
+
+        replicaTemplate.execute("drop table replica_lag");
+        assertEquals("primary", readOnly.execute(status -> server()));
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from server", String.class);
+    }
+
+    private static DataSource database(final String name) {
+        final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        final JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("drop all objects");
+        template.execute("create table server (name varchar(10))");
+        template.update("insert into server values (?)", name);
+        return dataSource;
+    }
+}
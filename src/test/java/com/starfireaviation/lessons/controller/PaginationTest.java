@@ -0,0 +1,103 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.controller;
+
+import com.starfireaviation.lessons.config.ApplicationProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PaginationTest {
+
+    /**
+     * Default page size.
+     */
+    private static final int DEFAULT_SIZE = 20;
+
+    /**
+     * Largest page size.
+     */
+    private static final int MAX_SIZE = 50;
+
+    @Test
+    void limitDefaultsWhenMissing() {
+        assertEquals(DEFAULT_SIZE, Pagination.limit(null, props()));
+    }
+
+    @Test
+    void defaultLimitIsCappedAtMax() {
+        final ApplicationProperties.PaginationProperties props = props();
+        props.setDefaultSize(MAX_SIZE + 1);
+        assertEquals(MAX_SIZE, Pagination.limit(null, props));
+    }
+
+    @Test
+    void limitBelowOneIsRaisedToOne() {
+        assertEquals(1, Pagination.limit(0, props()));
+        assertEquals(1, Pagination.limit(-1, props()));
+        assertEquals(1, Pagination.limit(Integer.MIN_VALUE, props()));
+    }
+
+    @Test
+    void limitAboveMaxIsCappedAtMax() {
+        assertEquals(MAX_SIZE, Pagination.limit(MAX_SIZE + 1, props()));
+        assertEquals(MAX_SIZE, Pagination.limit(Integer.MAX_VALUE, props()));
+    }
+
+    @Test
+    void limitWithinRangeIsKept() {
+        assertEquals(MAX_SIZE, Pagination.limit(MAX_SIZE, props()));
+        assertEquals(1, Pagination.limit(1, props()));
+    }
+
+    @Test
+    void afterDefaultsToBeforeEveryId() {
+        assertEquals(0, Pagination.after(null));
+        assertEquals(7, Pagination.after(7L));
+    }
+
+    @Test
+    void fullPageHasNextCursor() {
+        final ResponseEntity<List<Long>> response = Pagination.page(List.of(3L, 5L, 9L), 3, Function.identity());
+        assertEquals("9", response.getHeaders().getFirst(Pagination.NEXT_CURSOR_HEADER));
+        assertEquals(List.of(3L, 5L, 9L), response.getBody());
+    }
+
+    @Test
+    void partialPageHasNoNextCursor() {
+        final ResponseEntity<List<Long>> response = Pagination.page(List.of(3L, 5L), 3, Function.identity());
+        assertNull(response.getHeaders().getFirst(Pagination.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void emptyPageHasNoNextCursor() {
+        final ResponseEntity<List<Long>> response = Pagination.page(List.of(), 3, Function.identity());
+        assertNull(response.getHeaders().getFirst(Pagination.NEXT_CURSOR_HEADER));
+    }
+
+    private static ApplicationProperties.PaginationProperties props() {
+        final ApplicationProperties.PaginationProperties props = new ApplicationProperties.PaginationProperties();
+        props.setDefaultSize(DEFAULT_SIZE);
+        props.setMaxSize(MAX_SIZE);
+        return props;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package com.starfireaviation.lessons.model;
+
+import com.starfireaviation.benchmark.IdentityLink;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares inserting join rows with IDENTITY IDs against pooled IDs with JDBC batching.
+ */
+@Slf4j
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The migrations are written for MySQL, so let Hibernate create the schema in H2
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+class IdGenerationBenchmarkTest {
+
+    /**
+     * Number of rows inserted.
+     */
+    private static final int ROWS = 10_000;
+
+    /**
+     * Rows per lesson plan.
+     */
+    private static final int ROWS_PER_LESSON_PLAN = 100;
+
+    /**
+     * Pooled inserts should need at most this fraction of the statements IDENTITY inserts need.
+     */
+    private static final int MIN_STATEMENT_REDUCTION = 10;
+
+    @Autowired
+    private LessonPlanActivityRepository lessonPlanActivityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Maps the baseline entity alongside the application's entities, for this test only.
+     */
+    @TestConfiguration
+    @EntityScan(basePackageClasses = { LessonPlanActivity.class, IdentityLink.class })
+    static class BenchmarkEntities {
+    }
+
+    @Test
+    void pooledIdsBatchInserts() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROWS; i++) {
+            final IdentityLink identityLink = new IdentityLink();
+            identityLink.setLessonPlanId((long) (i / ROWS_PER_LESSON_PLAN));
+            identityLink.setActivityId((long) i);
+            entityManager.persist(identityLink);
+        }
+        entityManager.flush();
+        final long identityNanos = System.nanoTime() - start;
+        final long identityStatements = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        statistics.clear();
+        start = System.nanoTime();
+        final List<LessonPlanActivity> lessonPlanActivities = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            final LessonPlanActivity lessonPlanActivity = new LessonPlanActivity();
+            lessonPlanActivity.setLessonPlanId((long) (i / ROWS_PER_LESSON_PLAN));
+            lessonPlanActivity.setActivityId((long) i);
+            lessonPlanActivities.add(lessonPlanActivity);
+        }
+        lessonPlanActivityRepository.saveAll(lessonPlanActivities);
+        entityManager.flush();
+        final long pooledNanos = System.nanoTime() - start;
+        final long pooledStatements = statistics.getPrepareStatementCount();
+
+        log.info("IDENTITY: {} rows in {} ms ({} rows/s, {} statements)", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(identityNanos), rowsPerSecond(identityNanos), identityStatements);
+        log.info("Pooled:   {} rows in {} ms ({} rows/s, {} statements)", ROWS,
+                TimeUnit.NANOSECONDS.toMillis(pooledNanos), rowsPerSecond(pooledNanos), pooledStatements);
+        assertTrue(pooledStatements * MIN_STATEMENT_REDUCTION <= identityStatements,
+                String.format("Expected far fewer statements with pooled IDs: %d vs %d",
+                        pooledStatements, identityStatements));
+    }
+
+    private static long rowsPerSecond(final long nanos) {
+        return ROWS * TimeUnit.SECONDS.toNanos(1) / Math.max(nanos, 1);
+    }
+}
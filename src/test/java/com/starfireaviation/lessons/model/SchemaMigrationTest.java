@@ -0,0 +1,81 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.model;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.PersistenceException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the Flyway migrations and then has Hibernate validate the entity mappings against the result. H2 runs in
+ * MySQL mode and, like MySQL on Linux, keeps table names in the case they were written in, so a migration whose
+ * table names don't match the mapped names fails here.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_UPPER=FALSE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SchemaMigrationTest {
+
+    /**
+     * Number of migrations.
+     */
+    private static final int MIGRATIONS = 2;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private LessonPlanActivityRepository lessonPlanActivityRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void migratedSchemaMatchesMappings() {
+        assertEquals(MIGRATIONS, flyway.info().applied().length);
+
+        assertNotNull(lessonPlanActivityRepository.save(link(1L, 1L)).getId());
+        entityManager.flush();
+    }
+
+    @Test
+    void duplicateLinksAreRejected() {
+        lessonPlanActivityRepository.save(link(1L, 1L));
+        entityManager.flush();
+        lessonPlanActivityRepository.save(link(1L, 1L));
+        // The unique constraint added by V2 is only checked once the insert reaches the database
+        assertThrows(PersistenceException.class, entityManager::flush);
+    }
+
+    private static LessonPlanActivity link(final Long lessonPlanId, final Long activityId) {
+        final LessonPlanActivity lessonPlanActivity = new LessonPlanActivity();
+        lessonPlanActivity.setLessonPlanId(lessonPlanId);
+        lessonPlanActivity.setActivityId(activityId);
+        return lessonPlanActivity;
+    }
+}
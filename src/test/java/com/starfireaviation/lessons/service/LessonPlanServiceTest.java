@@ -0,0 +1,167 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package com.starfireaviation.lessons.service;
+
+import com.starfireaviation.lessons.model.LessonPlanActivity;
+import com.starfireaviation.lessons.model.LessonPlanActivityRepository;
+import com.starfireaviation.lessons.model.LessonPlanEntity;
+import com.starfireaviation.lessons.model.LessonPlanLesson;
+import com.starfireaviation.lessons.model.LessonPlanLessonRepository;
+import com.starfireaviation.lessons.model.LessonPlanRepository;
+import com.starfireaviation.lessons.model.LessonPlanSummary;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // The migrations are written for MySQL, so let Hibernate create the schema in H2
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop" })
+class LessonPlanServiceTest {
+
+    /**
+     * Number of lesson plans.
+     */
+    private static final int LESSON_PLANS = 10;
+
+    @Autowired
+    private LessonPlanRepository lessonPlanRepository;
+
+    @Autowired
+    private LessonPlanActivityRepository lessonPlanActivityRepository;
+
+    @Autowired
+    private LessonPlanLessonRepository lessonPlanLessonRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private LessonPlanService lessonPlanService;
+
+    private final List<Long> lessonPlanIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        lessonPlanService = new LessonPlanService(lessonPlanRepository, lessonPlanActivityRepository,
+                lessonPlanLessonRepository);
+        for (int i = 0; i < LESSON_PLANS; i++) {
+            final LessonPlanEntity lessonPlan = new LessonPlanEntity();
+            lessonPlan.setTitle("Lesson plan " + i);
+            lessonPlan.setSummary("Summary " + i);
+            lessonPlan.setPresentable(i % 2 == 0);
+            final Long lessonPlanId = lessonPlanRepository.save(lessonPlan).getId();
+            lessonPlanIds.add(lessonPlanId);
+            final LessonPlanActivity lessonPlanActivity = new LessonPlanActivity();
+            lessonPlanActivity.setLessonPlanId(lessonPlanId);
+            lessonPlanActivity.setActivityId((long) i);
+            lessonPlanActivityRepository.save(lessonPlanActivity);
+            final LessonPlanLesson lessonPlanLesson = new LessonPlanLesson();
+            lessonPlanLesson.setLessonPlanId(lessonPlanId);
+            lessonPlanLesson.setLessonId((long) i);
+            lessonPlanLessonRepository.save(lessonPlanLesson);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void batchLookupsUseOneQueryPerJoinTable() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final Map<Long, List<Long>> activityIds = lessonPlanService.getActivityIdsForLessonPlans(lessonPlanIds);
+        final Map<Long, List<Long>> lessonIds = lessonPlanService.getLessonIdsForLessonPlans(lessonPlanIds);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(LESSON_PLANS, activityIds.size());
+        assertEquals(LESSON_PLANS, lessonIds.size());
+        for (int i = 0; i < LESSON_PLANS; i++) {
+            assertEquals(List.of((long) i), activityIds.get(lessonPlanIds.get(i)));
+            assertEquals(List.of((long) i), lessonIds.get(lessonPlanIds.get(i)));
+        }
+    }
+
+    @Test
+    void batchLookupsWithoutLessonPlansDoNotQuery() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertTrue(lessonPlanService.getActivityIdsForLessonPlans(List.of()).isEmpty());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void linkActivitiesReconcilesExistingLinks() {
+        final Long lessonPlanId = lessonPlanIds.get(0);
+
+        lessonPlanService.linkActivities(lessonPlanId, List.of(1L, 2L, 2L, 3L));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(List.of(1L, 2L, 3L), lessonPlanService.getActivityIdsForLessonPlan(lessonPlanId)
+                .stream()
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void idPagesReadOnlyIds() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final List<Long> presentableIds = lessonPlanService.getIdPage(true, 0, LESSON_PLANS);
+        final List<Long> secondPage = lessonPlanService.getIdPage(false, lessonPlanIds.get(2), 3);
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(lessonPlanIds.get(0), lessonPlanIds.get(2), lessonPlanIds.get(4), lessonPlanIds.get(6),
+                lessonPlanIds.get(8)), presentableIds);
+        assertEquals(lessonPlanIds.subList(3, 6), secondPage);
+    }
+
+    @Test
+    void summariesReadOnlySummaryColumns() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final List<LessonPlanSummary> summaries = lessonPlanService.getSummaries(lessonPlanIds.subList(0, 2));
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(List.of(new LessonPlanSummary(lessonPlanIds.get(0), "Lesson plan 0", true),
+                new LessonPlanSummary(lessonPlanIds.get(1), "Lesson plan 1", false)), summaries
+                .stream()
+                .sorted(Comparator.comparing(LessonPlanSummary::getId))
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *  Copyright (C) 2022 Starfire Aviation, LLC
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+/*
+ * Connection pool load test. Readers page through lessons and fetch them by ID, so each request reads from the
+ * database and serializes full lessons, while a sampler polls the actuator once a second for the Hikari pool's
+ * pending threads and connection acquire time. Run it against two builds with the same data and settings to
+ * compare pool wait time before and after a change. Thresholds on pending threads and acquire time fail the run
+ * (k6 exits non-zero) when the pool waits longer than allowed, so a regression is caught without comparing by hand.
+ *
+ * The application must expose the metrics endpoint:
+ *   MANAGEMENT_ENDPOINTS_WEB_EXPOSURE_INCLUDE=health,metrics
+ *
+ * Usage:
+ *   k6 run -e BASE_URL=http://localhost:8080 -e VUS=50 -e DURATION=2m src/test/k6/connection-pool.js
+ *
+ * Options (environment variables):
+ *   BASE_URL   application URL (default http://localhost:8080)
+ *   VUS        concurrent readers (default 50)
+ *   DURATION   test duration (default 2m)
+ *   PAGE_SIZE  lessons per page (default 100)
+ *   POOL       only report this Hikari pool, e.g. primary when a read replica is configured
+ *   MAX_PENDING     highest allowed p95 of threads waiting for a connection (default 1)
+ *   MAX_ACQUIRE_MS  highest allowed p95 of connection acquire time in milliseconds (default 5)
+ */
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '50', 10);
+const DURATION = __ENV.DURATION || '2m';
+const PAGE_SIZE = parseInt(__ENV.PAGE_SIZE || '100', 10);
+const POOL_TAG = __ENV.POOL ? `?tag=pool:${__ENV.POOL}` : '';
+const MAX_PENDING = parseFloat(__ENV.MAX_PENDING || '1');
+const MAX_ACQUIRE_MS = parseFloat(__ENV.MAX_ACQUIRE_MS || '5');
+
+const pending = new Trend('hikari_pending_threads');
+const acquire = new Trend('hikari_acquire_ms', true);
+const acquireMax = new Trend('hikari_acquire_max_ms', true);
+const acquired = new Counter('hikari_acquired_connections');
+
+export const options = {
+    scenarios: {
+        readers: {
+            executor: 'constant-vus',
+            exec: 'read',
+            vus: VUS,
+            duration: DURATION,
+        },
+        pool: {
+            executor: 'constant-vus',
+            exec: 'samplePool',
+            vus: 1,
+            duration: DURATION,
+        },
+    },
+    thresholds: {
+        'http_req_failed{scenario:readers}': ['rate<0.01'],
+        hikari_pending_threads: [`p(95)<=${MAX_PENDING}`],
+        hikari_acquire_ms: [`p(95)<=${MAX_ACQUIRE_MS}`],
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+/**
+ * Collects lesson IDs to fetch, and checks the metrics endpoint is exposed before load starts.
+ */
+export function setup() {
+    const metrics = http.get(`${BASE_URL}/actuator/metrics/hikaricp.connections.pending${POOL_TAG}`);
+    if (metrics.status !== 200) {
+        throw new Error(`Hikari metrics unavailable (HTTP ${metrics.status}); set `
+            + 'MANAGEMENT_ENDPOINTS_WEB_EXPOSURE_INCLUDE=health,metrics');
+    }
+    const ids = [];
+    let after = 0;
+    for (;;) {
+        const page = http.get(`${BASE_URL}/api/lessons?after=${after}&limit=${PAGE_SIZE}`);
+        const lessons = page.json();
+        lessons.forEach((lesson) => ids.push(lesson.id));
+        const next = page.headers['X-Next-Cursor'];
+        if (!next) {
+            break;
+        }
+        after = next;
+    }
+    if (ids.length === 0) {
+        throw new Error('No lessons to read; load some data first');
+    }
+    return { ids };
+}
+
+/**
+ * Reads a random page of lessons and a random lesson.
+ */
+export function read(data) {
+    const start = data.ids[Math.floor(Math.random() * data.ids.length)] - 1;
+    const page = http.get(`${BASE_URL}/api/lessons?after=${start}&limit=${PAGE_SIZE}`, {
+        tags: { name: 'GET /api/lessons' },
+    });
+    check(page, { 'page read': (r) => r.status === 200 });
+    const id = data.ids[Math.floor(Math.random() * data.ids.length)];
+    const lesson = http.get(`${BASE_URL}/api/lessons/${id}`, { tags: { name: 'GET /api/lessons/{id}' } });
+    check(lesson, { 'lesson read': (r) => r.status === 200 });
+}
+
+let previous = null;
+
+/**
+ * Samples the pool once a second. Acquire time is averaged over the connections acquired since the last sample.
+ */
+export function samplePool() {
+    const tags = { tags: { name: 'actuator' } };
+    const waiting = measurement(http.get(`${BASE_URL}/actuator/metrics/hikaricp.connections.pending${POOL_TAG}`,
+        tags), 'VALUE');
+    const timer = http.get(`${BASE_URL}/actuator/metrics/hikaricp.connections.acquire${POOL_TAG}`, tags);
+    const current = {
+        count: measurement(timer, 'COUNT'),
+        totalSeconds: measurement(timer, 'TOTAL_TIME'),
+    };
+    pending.add(waiting);
+    acquireMax.add(measurement(timer, 'MAX') * 1000);
+    if (previous !== null && current.count > previous.count) {
+        const count = current.count - previous.count;
+        acquired.add(count);
+        acquire.add((current.totalSeconds - previous.totalSeconds) * 1000 / count);
+    }
+    previous = current;
+    sleep(1);
+}
+
+/**
+ * Gets a statistic from an actuator metric response.
+ */
+function measurement(response, statistic) {
+    const found = response.json('measurements').find((m) => m.statistic === statistic);
+    return found ? found.value : 0;
+}